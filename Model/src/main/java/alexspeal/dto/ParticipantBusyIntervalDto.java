@@ -0,0 +1,7 @@
+package alexspeal.dto;
+
+import java.time.OffsetDateTime;
+
+public record ParticipantBusyIntervalDto(Long userId, Long eventId, OffsetDateTime startTime, int duration,
+                                         Boolean isFixed, Boolean isPersonal) {
+}
@@ -1,6 +1,7 @@
 package alexspeal.dto.requests;
 
 import java.time.OffsetDateTime;
+import java.util.UUID;
 
-public record ScheduleRequest(OffsetDateTime startTime) {
+public record ScheduleRequest(OffsetDateTime startTime, UUID planId) {
 }
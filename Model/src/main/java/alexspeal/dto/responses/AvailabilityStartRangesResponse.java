@@ -0,0 +1,14 @@
+package alexspeal.dto.responses;
+
+import alexspeal.models.StartRange;
+
+import java.util.List;
+
+public record AvailabilityStartRangesResponse(
+        Long meetingId,
+        int durationMinutes,
+        List<StartRange> startRanges,
+        int maxCount,
+        boolean havePending
+) {
+}
@@ -4,5 +4,5 @@ import alexspeal.dto.EventDto;
 
 import java.util.List;
 
-public record GetAllUserEventsResponse(List<EventDto> eventDtoList) {
+public record GetAllUserEventsResponse(List<EventDto> eventDtoList, String nextCursor) {
 }
@@ -0,0 +1,14 @@
+package alexspeal.dto.responses;
+
+import alexspeal.models.SlotSuggestion;
+
+import java.util.List;
+
+public record MeetingSuggestionsResponse(
+        Long meetingId,
+        int durationMinutes,
+        List<SlotSuggestion> suggestions,
+        int maxCount,
+        boolean havePending
+) {
+}
@@ -0,0 +1,16 @@
+package alexspeal.dto.responses;
+
+import alexspeal.models.PlannedRelocation;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record RelocationPreviewResponse(
+        UUID planId,
+        Long meetingId,
+        OffsetDateTime startTime,
+        List<PlannedRelocation> relocations,
+        OffsetDateTime expiresAt
+) {
+}
@@ -1,29 +0,0 @@
-package alexspeal.entities;
-
-import jakarta.persistence.Column;
-import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
-import jakarta.persistence.Id;
-import jakarta.persistence.JoinColumn;
-import jakarta.persistence.ManyToOne;
-import jakarta.persistence.Table;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-import java.time.LocalDate;
-
-@NoArgsConstructor
-@Entity
-@Data
-@Table(name = "days")
-public class DayEntity {
-    @Column(name = "date")
-    LocalDate date;
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-    @ManyToOne
-    @JoinColumn(name = "event_participant_id", nullable = false)
-    private EventParticipantEntity eventParticipant;
-}
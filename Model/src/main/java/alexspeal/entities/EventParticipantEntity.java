@@ -1,7 +1,6 @@
 package alexspeal.entities;
 
 import alexspeal.enums.AcceptStatusParticipant;
-import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -11,11 +10,14 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
-import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 @Data
@@ -26,8 +28,9 @@ public class EventParticipantEntity {
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private AcceptStatusParticipant status;
-    @OneToMany(mappedBy = "eventParticipant", cascade = CascadeType.ALL, orphanRemoval = true)
-    private List<DayEntity> days;
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "selected_days", nullable = false, columnDefinition = "date[]")
+    private List<LocalDate> selectedDays = new ArrayList<>();
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
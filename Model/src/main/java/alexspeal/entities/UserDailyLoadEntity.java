@@ -0,0 +1,31 @@
+package alexspeal.entities;
+
+import alexspeal.models.UserDailyLoadId;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "user_daily_load")
+@Data
+@NoArgsConstructor
+@IdClass(UserDailyLoadId.class)
+public class UserDailyLoadEntity {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Id
+    @Column(name = "local_date", nullable = false)
+    private LocalDate localDate;
+
+    @Column(name = "load_minutes", nullable = false)
+    private Integer loadMinutes;
+}
@@ -0,0 +1,7 @@
+package alexspeal.enums;
+
+public enum AvailabilityEngine {
+    SWEEP,
+    BITSET,
+    TIMELINE
+}
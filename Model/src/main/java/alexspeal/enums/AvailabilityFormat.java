@@ -0,0 +1,6 @@
+package alexspeal.enums;
+
+public enum AvailabilityFormat {
+    INTERVALS,
+    START_RANGES
+}
@@ -20,6 +20,13 @@ public enum ErrorMessage {
     PREFERRED_WINDOW_TOO_SHORT("Желаемый промежуток (%d мин) короче длительности встречи (%d мин)"),
     PREFERRED_WINDOW_NON_PERSONAL("Желаемый промежуток времени можно задавать только для личных событий"),
     RELOCATION_INFEASIBLE("Не удалось сдвинуть встречу '%s' — нет подходящего слота в её допустимых окнах"),
+    RELOCATION_PLAN_STALE("Календарь изменился во время планирования, попробуйте ещё раз"),
+    BUSY_RANGE_CONFLICT("Время встречи пересекается с другой встречей участника"),
+    RELOCATION_OVERLOADED("Планировщик перегружен, повторите попытку через %d с"),
+    INVALID_SUGGESTIONS_LIMIT("Количество вариантов должно быть от 1 до %d"),
+    INVALID_PAGE_LIMIT("Размер страницы должен быть от 1 до %d"),
+    INVALID_PAGE_CURSOR("Некорректный курсор страницы"),
+    INVALID_TIME_RANGE("Начало периода должно быть раньше конца"),
     FORBIDDEN("Доступ запрещен");
     private final String message;
 
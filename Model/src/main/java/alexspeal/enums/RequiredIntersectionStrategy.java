@@ -0,0 +1,6 @@
+package alexspeal.enums;
+
+public enum RequiredIntersectionStrategy {
+    PAIRWISE,
+    K_WAY
+}
@@ -0,0 +1,17 @@
+package alexspeal.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * How the CSP tier of relocation planning searches; {@code threads} is the number of solver threads a
+ * single solve keeps busy.
+ */
+@Getter
+@AllArgsConstructor
+public enum SolverMode {
+    SINGLE(1),
+    PORTFOLIO(3);
+
+    private final int threads;
+}
@@ -0,0 +1,17 @@
+package alexspeal.exceptions;
+
+/**
+ * The requested time cannot be applied to the current calendar: personal events cannot be relocated,
+ * the relocation plan went stale or the meeting overlaps another meeting of a participant.
+ * Controllers answer it with 409.
+ */
+public class SchedulingConflictException extends RuntimeException {
+
+    public SchedulingConflictException(String message) {
+        super(message);
+    }
+
+    public SchedulingConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,9 @@
+package alexspeal.models;
+
+import java.util.Set;
+
+public record CalendarChangedEvent(
+        Long meetingId,
+        Set<Long> userIds
+) {
+}
@@ -0,0 +1,11 @@
+package alexspeal.models;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record DayAvailability(
+        LocalDate utcDate,
+        List<AvailabilitySegment> segments,
+        int maxCount
+) {
+}
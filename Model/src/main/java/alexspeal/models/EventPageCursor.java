@@ -0,0 +1,14 @@
+package alexspeal.models;
+
+import alexspeal.enums.SortOption;
+
+/**
+ * Position after the last event of a page: the value of the sort key ({@code null} when the event has
+ * none) and the event id that breaks ties.
+ */
+public record EventPageCursor(
+        SortOption sort,
+        Object key,
+        Long id
+) {
+}
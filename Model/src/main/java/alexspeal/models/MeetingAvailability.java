@@ -0,0 +1,17 @@
+package alexspeal.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.List;
+import java.util.Set;
+
+public record MeetingAvailability(
+        Long meetingId,
+        int durationMinutes,
+        List<DayAvailability> days,
+        int maxCount,
+        boolean hasPending,
+        int requiredParticipantCount,
+        @JsonIgnore Set<Long> participantUserIds
+) {
+}
@@ -0,0 +1,7 @@
+package alexspeal.models;
+
+public record ParticipantResponseChangedEvent(
+        Long meetingId,
+        Long userId
+) {
+}
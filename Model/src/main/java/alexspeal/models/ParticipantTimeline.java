@@ -0,0 +1,13 @@
+package alexspeal.models;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Free time of a participant as ascending, non-overlapping {@code [start, end)} pairs of epoch minutes.
+ */
+public record ParticipantTimeline(
+        List<LocalDate> selectedDays,
+        int[] free
+) {
+}
@@ -0,0 +1,11 @@
+package alexspeal.models;
+
+import java.time.OffsetDateTime;
+
+public record PlannedRelocation(
+        Long eventId,
+        String title,
+        OffsetDateTime currentStart,
+        OffsetDateTime newStart
+) {
+}
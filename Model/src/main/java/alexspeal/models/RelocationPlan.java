@@ -0,0 +1,16 @@
+package alexspeal.models;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record RelocationPlan(
+        UUID id,
+        Long meetingId,
+        Long userId,
+        OffsetDateTime startTime,
+        long calendarVersion,
+        List<PlannedRelocation> relocations,
+        OffsetDateTime expiresAt
+) {
+}
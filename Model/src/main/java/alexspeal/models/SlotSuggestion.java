@@ -0,0 +1,11 @@
+package alexspeal.models;
+
+import java.time.OffsetDateTime;
+
+public record SlotSuggestion(
+        OffsetDateTime start,
+        OffsetDateTime end,
+        int participantCount,
+        int requiredCoverage
+) {
+}
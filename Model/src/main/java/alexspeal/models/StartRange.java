@@ -0,0 +1,11 @@
+package alexspeal.models;
+
+import java.time.OffsetDateTime;
+
+public record StartRange(
+        OffsetDateTime earliestStart,
+        OffsetDateTime latestStart,
+        int stepMinutes,
+        int participantCount
+) {
+}
@@ -0,0 +1,31 @@
+package alexspeal.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDailyLoadId implements Serializable {
+
+    private Long userId;
+    private LocalDate localDate;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof UserDailyLoadId that)) return false;
+        return Objects.equals(userId, that.userId)
+                && Objects.equals(localDate, that.localDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, localDate);
+    }
+}
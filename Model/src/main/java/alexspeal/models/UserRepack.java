@@ -0,0 +1,10 @@
+package alexspeal.models;
+
+import java.util.List;
+
+public record UserRepack(
+        Long userId,
+        List<PlannedRelocation> relocations,
+        long displacementGain
+) {
+}
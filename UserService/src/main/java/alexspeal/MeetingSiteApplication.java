@@ -1,12 +1,16 @@
 package alexspeal;
 
 import alexspeal.config.ApplicationConfig;
+import alexspeal.config.AvailabilityProperties;
+import alexspeal.config.BusyIndexProperties;
+import alexspeal.config.OptimizerProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
 @SpringBootApplication
-@EnableConfigurationProperties(ApplicationConfig.class)
+@EnableConfigurationProperties({ApplicationConfig.class, AvailabilityProperties.class,
+        BusyIndexProperties.class, OptimizerProperties.class})
 public class MeetingSiteApplication {
     public static void main(String[] args) {
         SpringApplication.run(MeetingSiteApplication.class, args);
@@ -0,0 +1,15 @@
+package alexspeal.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+public class AvailabilityExecutorConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool availabilityDayPool(AvailabilityProperties availabilityProperties) {
+        return new ForkJoinPool(availabilityProperties.parallel().parallelism());
+    }
+}
@@ -0,0 +1,46 @@
+package alexspeal.config;
+
+import alexspeal.enums.AvailabilityEngine;
+import alexspeal.enums.RequiredIntersectionStrategy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * {@code TIMELINE} computes all days in one pass over epoch-minute timelines, so it cannot be combined
+ * with the per-day parallel mode or with incremental coverage; such configurations are rejected.
+ */
+@ConfigurationProperties(prefix = "app.availability")
+public record AvailabilityProperties(@DefaultValue("SWEEP") AvailabilityEngine engine,
+                                     @DefaultValue("PAIRWISE") RequiredIntersectionStrategy requiredIntersection,
+                                     @DefaultValue Cache cache,
+                                     @DefaultValue Parallel parallel,
+                                     @DefaultValue Incremental incremental) {
+
+    public AvailabilityProperties {
+        if (engine == AvailabilityEngine.TIMELINE && (parallel.enabled() || incremental.enabled())) {
+            throw new IllegalArgumentException(
+                    "app.availability.engine=TIMELINE does not support parallel or incremental mode");
+        }
+    }
+
+    public record Cache(@DefaultValue("true") boolean enabled,
+                        @DefaultValue("1000") long maxSize,
+                        @DefaultValue("10m") Duration ttl) {
+    }
+
+    public record Parallel(@DefaultValue("false") boolean enabled,
+                           @DefaultValue("4") int parallelism) {
+    }
+
+    /**
+     * {@code maxDays} bounds the candidate days held by all coverages together; every day keeps two
+     * minute-of-day counter arrays (about 11.5 KB).
+     */
+    public record Incremental(@DefaultValue("false") boolean enabled,
+                              @DefaultValue("false") boolean verify,
+                              @DefaultValue("2000") long maxDays,
+                              @DefaultValue("10m") Duration ttl) {
+    }
+}
@@ -0,0 +1,15 @@
+package alexspeal.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.busy-index")
+public record BusyIndexProperties(@DefaultValue("false") boolean enabled,
+                                  @DefaultValue("200000") long maxIntervals,
+                                  @DefaultValue("1d") Duration lookback,
+                                  @DefaultValue("90d") Duration horizon,
+                                  @DefaultValue("1h") Duration ttl,
+                                  @DefaultValue("true") boolean warmUp) {
+}
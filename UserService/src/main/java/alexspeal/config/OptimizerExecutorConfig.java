@@ -0,0 +1,22 @@
+package alexspeal.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class OptimizerExecutorConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor relocationSolverExecutor(OptimizerProperties optimizerProperties) {
+        OptimizerProperties.Admission admission = optimizerProperties.admission();
+        int solves = optimizerProperties.concurrentSolves(admission.concurrency());
+        return new ThreadPoolExecutor(solves, solves,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(admission.queueDepth()),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,65 @@
+package alexspeal.config;
+
+import alexspeal.enums.SolverMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.optimizer")
+public record OptimizerProperties(@DefaultValue("8") int greedyMaxConflicts,
+                                  @DefaultValue("10s") Duration solverTimeLimit,
+                                  @DefaultValue("SINGLE") SolverMode solverMode,
+                                  @DefaultValue Plans plans,
+                                  @DefaultValue Repack repack,
+                                  @DefaultValue Admission admission,
+                                  @DefaultValue Memo memo) {
+
+    /**
+     * {@code admission.concurrency} is the solver-thread budget shared by requests and the repack job;
+     * {@code repack.concurrency} is the part of it the job may take. Both must fit at least one solve of
+     * the configured mode, otherwise a portfolio solve would exceed the budget.
+     */
+    public OptimizerProperties {
+        if (admission.concurrency() < solverMode.getThreads()) {
+            throw new IllegalArgumentException("app.optimizer.admission.concurrency must be at least "
+                    + solverMode.getThreads() + " in " + solverMode + " mode");
+        }
+        if (repack.concurrency() < solverMode.getThreads() || repack.concurrency() > admission.concurrency()) {
+            throw new IllegalArgumentException("app.optimizer.repack.concurrency must be between "
+                    + solverMode.getThreads() + " and app.optimizer.admission.concurrency");
+        }
+    }
+
+    /**
+     * Number of solves that fit into {@code solverThreads} threads; a portfolio solve runs several of them.
+     */
+    public int concurrentSolves(int solverThreads) {
+        return solverThreads / solverMode.getThreads();
+    }
+
+    public record Plans(@DefaultValue("10000") long maxSize,
+                        @DefaultValue("2m") Duration ttl) {
+    }
+
+    public record Repack(@DefaultValue("false") boolean enabled,
+                         @DefaultValue("0 30 3 * * *") String cron,
+                         @DefaultValue("14d") Duration horizon,
+                         @DefaultValue("50") int batchSize,
+                         @DefaultValue("2") int concurrency) {
+    }
+
+    public record Admission(@DefaultValue("2") int concurrency,
+                            @DefaultValue("16") int queueDepth,
+                            @DefaultValue("12s") Duration deadline,
+                            @DefaultValue("5s") Duration retryAfter) {
+    }
+
+    /**
+     * {@code maxDomainValues} bounds the summed domain lengths of all memoized problems; a single
+     * problem may carry tens of thousands of candidate starts.
+     */
+    public record Memo(@DefaultValue("true") boolean enabled,
+                       @DefaultValue("2000000") long maxDomainValues) {
+    }
+}
@@ -5,16 +5,21 @@ import alexspeal.dto.requests.AcceptMeetingRequest;
 import alexspeal.dto.requests.CreatingMeetingRequest;
 import alexspeal.dto.requests.ScheduleRequest;
 import alexspeal.dto.responses.AvailabilityIntervalsResponse;
-import alexspeal.dto.responses.AvailabilityResponse;
+import alexspeal.dto.responses.AvailabilityStartRangesResponse;
+import alexspeal.dto.responses.MeetingSuggestionsResponse;
+import alexspeal.dto.responses.RelocationPreviewResponse;
 import alexspeal.entities.UserEntity;
 import alexspeal.enums.AcceptStatusParticipant;
+import alexspeal.enums.AvailabilityFormat;
 import alexspeal.enums.ErrorMessage;
 import alexspeal.enums.WebSocketAction;
 import alexspeal.exceptions.AppError;
+import alexspeal.exceptions.SchedulingConflictException;
 import alexspeal.helpers.WebSocketsNotifier;
 import alexspeal.models.WebSocketMessage;
 import alexspeal.service.EventService;
 import alexspeal.service.SchedulingService;
+import alexspeal.service.SolverAdmission;
 import alexspeal.service.UserService;
 import alexspeal.utils.JwtIdentificationUtils;
 import alexspeal.utils.JwtTokenUtils;
@@ -26,6 +31,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
@@ -37,10 +43,12 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/secured/meetings")
@@ -49,6 +57,7 @@ import java.util.NoSuchElementException;
 public class EventController {
     private final EventService eventService;
     private final SchedulingService schedulingService;
+    private final SolverAdmission solverAdmission;
     private final JwtIdentificationUtils jwtIdentificationUtils;
     private final WebSocketsNotifier webSocketsNotifier;
 
@@ -82,7 +91,10 @@ public class EventController {
             @ApiResponse(
                     responseCode = "200",
                     description = "Успешное получение доступных дат",
-                    content = @Content(schema = @Schema(implementation = AvailabilityResponse.class))
+                    content = @Content(schema = @Schema(oneOf = {
+                            AvailabilityIntervalsResponse.class,
+                            AvailabilityStartRangesResponse.class
+                    }))
             ),
             @ApiResponse(
                     responseCode = "400",
@@ -106,7 +118,10 @@ public class EventController {
                     example = "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...")
             @RequestHeader("Authorization") String authHeader,
             @Parameter(description = "ID встречи", required = true, example = "12345")
-            @PathVariable("meeting_id") Long meetingId
+            @PathVariable("meeting_id") Long meetingId,
+            @Parameter(description = "Формат ответа: поминутные интервалы или сжатые диапазоны начала",
+                    example = "START_RANGES")
+            @RequestParam(name = "format", defaultValue = "INTERVALS") AvailabilityFormat format
     ) {
         try {
             UserEntity user = jwtIdentificationUtils.getUserFromHeader(authHeader);
@@ -115,8 +130,64 @@ public class EventController {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body(new AppError(HttpStatus.FORBIDDEN.value(), ErrorMessage.FORBIDDEN.getMessage()));
             }
-            AvailabilityIntervalsResponse response = schedulingService.getMeetingAvailability(meetingId);
-            return ResponseEntity.ok(response);
+            return switch (format) {
+                case INTERVALS -> ResponseEntity.ok(schedulingService.getMeetingAvailability(meetingId));
+                case START_RANGES -> ResponseEntity.ok(schedulingService.getMeetingStartRanges(meetingId));
+            };
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new AppError(HttpStatus.NOT_FOUND.value(), e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new AppError(HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+        }
+    }
+
+    @Operation(
+            summary = "Лучшие варианты времени встречи",
+            description = "Возвращает не более k лучших вариантов начала встречи: сначала по числу участников, "
+                    + "затем по числу обязательных участников, затем по более раннему началу"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Успешное получение вариантов",
+                    content = @Content(schema = @Schema(implementation = MeetingSuggestionsResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Невалидные параметры запроса",
+                    content = @Content(schema = @Schema(implementation = AppError.class))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Доступ к встрече запрещен",
+                    content = @Content(schema = @Schema(implementation = AppError.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Встреча не найдена",
+                    content = @Content(schema = @Schema(implementation = AppError.class))
+            )
+    })
+    @GetMapping("/{meeting_id}/suggestions")
+    public ResponseEntity<?> getEventSuggestions(
+            @Parameter(description = "JWT токен авторизации", required = true,
+                    example = "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...")
+            @RequestHeader("Authorization") String authHeader,
+            @Parameter(description = "ID встречи", required = true, example = "12345")
+            @PathVariable("meeting_id") Long meetingId,
+            @Parameter(description = "Количество вариантов", example = "5")
+            @RequestParam(name = "k", defaultValue = "5") int k
+    ) {
+        try {
+            UserEntity user = jwtIdentificationUtils.getUserFromHeader(authHeader);
+            EventDto event = eventService.getEventById(meetingId);
+            if (!event.authorId().equals(user.getId())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(new AppError(HttpStatus.FORBIDDEN.value(), ErrorMessage.FORBIDDEN.getMessage()));
+            }
+            return ResponseEntity.ok(schedulingService.getMeetingSuggestions(meetingId, k));
         } catch (NoSuchElementException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(new AppError(HttpStatus.NOT_FOUND.value(), e.getMessage()));
@@ -184,6 +255,11 @@ public class EventController {
                     responseCode = "404",
                     description = "Встреча или пользователь не найден",
                     content = @Content(schema = @Schema(implementation = AppError.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Встреча пересекается с другой встречей участника",
+                    content = @Content(schema = @Schema(implementation = AppError.class))
             )
     })
     @PostMapping("/{meeting_id}/selectDays")
@@ -207,6 +283,9 @@ public class EventController {
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(new AppError(HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+        } catch (SchedulingConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new AppError(HttpStatus.CONFLICT.value(), e.getMessage()));
         }
     }
 
@@ -233,6 +312,18 @@ public class EventController {
                     responseCode = "404",
                     description = "Встреча не найдена",
                     content = @Content(schema = @Schema(implementation = AppError.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Не удалось подобрать новое время для личных событий, "
+                            + "календарь изменился во время планирования "
+                            + "или встреча пересекается с другой встречей участника",
+                    content = @Content(schema = @Schema(implementation = AppError.class))
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Планировщик перегружен, повторите запрос позже",
+                    content = @Content(schema = @Schema(implementation = AppError.class))
             )
     })
     @PutMapping("/{meeting_id}/schedule")
@@ -248,12 +339,86 @@ public class EventController {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body(new AppError(HttpStatus.FORBIDDEN.value(), ErrorMessage.FORBIDDEN.getMessage()));
             }
-            EventDto updated = eventService.scheduleEvent(meetingId, request.startTime());
+            EventDto updated = eventService.scheduleEvent(meetingId, request.startTime(), request.planId());
             webSocketsNotifier.notify(updated, WebSocketAction.SCHEDULE, updated);
             return ResponseEntity.ok(updated);
         } catch (NoSuchElementException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(new AppError(HttpStatus.NOT_FOUND.value(), e.getMessage()));
+        } catch (SchedulingConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new AppError(HttpStatus.CONFLICT.value(), e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(solverAdmission.retryAfter().toSeconds()))
+                    .body(new AppError(HttpStatus.TOO_MANY_REQUESTS.value(), e.getMessage()));
+        }
+    }
+
+    @Operation(
+            summary = "Предпросмотр фиксации времени встречи",
+            description = "Рассчитывает, какие личные события будут сдвинуты при фиксации времени. "
+                    + "Идентификатор плана можно передать в запрос фиксации, пока календарь не изменился"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "План успешно рассчитан",
+                    content = @Content(schema = @Schema(implementation = RelocationPreviewResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Невалидные данные",
+                    content = @Content(schema = @Schema(implementation = AppError.class))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Нет прав для изменения встречи",
+                    content = @Content(schema = @Schema(implementation = AppError.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Встреча не найдена",
+                    content = @Content(schema = @Schema(implementation = AppError.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Не удалось подобрать новое время для личных событий",
+                    content = @Content(schema = @Schema(implementation = AppError.class))
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Планировщик перегружен, повторите запрос позже",
+                    content = @Content(schema = @Schema(implementation = AppError.class))
+            )
+    })
+    @PostMapping("/{meeting_id}/schedule/preview")
+    public ResponseEntity<?> previewSchedule(
+            @Parameter(hidden = true) @RequestHeader("Authorization") String authHeader,
+            @Parameter(description = "ID встречи", required = true) @PathVariable("meeting_id") Long meetingId,
+            @RequestBody ScheduleRequest request
+    ) {
+        try {
+            UserEntity user = jwtIdentificationUtils.getUserFromHeader(authHeader);
+            EventDto event = eventService.getEventById(meetingId);
+            if (!event.authorId().equals(user.getId())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(new AppError(HttpStatus.FORBIDDEN.value(), ErrorMessage.FORBIDDEN.getMessage()));
+            }
+            return ResponseEntity.ok(eventService.previewSchedule(meetingId, request.startTime()));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new AppError(HttpStatus.NOT_FOUND.value(), e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new AppError(HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+        } catch (SchedulingConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new AppError(HttpStatus.CONFLICT.value(), e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(solverAdmission.retryAfter().toSeconds()))
+                    .body(new AppError(HttpStatus.TOO_MANY_REQUESTS.value(), e.getMessage()));
         }
     }
 }
@@ -1,8 +1,6 @@
 package alexspeal.controllers;
 
-import alexspeal.dto.EventDto;
 import alexspeal.dto.UserDetailsDto;
-import alexspeal.dto.responses.GetAllUserEventsResponse;
 import alexspeal.entities.UserEntity;
 import alexspeal.enums.ErrorMessage;
 import alexspeal.enums.SortOption;
@@ -14,6 +12,7 @@ import alexspeal.utils.JwtTokenUtils;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -23,7 +22,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
+import java.time.OffsetDateTime;
 import java.util.NoSuchElementException;
 
 @RestController
@@ -59,12 +58,22 @@ public class UserController {
     public ResponseEntity<?> getAllUserMeetings(
             @Parameter(hidden = true) @RequestHeader("Authorization") String authHeader,
             @Parameter(description = "сортировка", required = true, example = "date")
-            @RequestParam(name = "sort", defaultValue = "DATE") SortOption sortOption) {
+            @RequestParam(name = "sort", defaultValue = "DATE") SortOption sortOption,
+            @Parameter(description = "Курсор следующей страницы из предыдущего ответа")
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @Parameter(description = "Размер страницы (по умолчанию 20 при переданном курсоре); "
+                    + "без курсора и размера возвращается весь список", example = "20")
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @Parameter(description = "Начало периода (включительно)", example = "2025-03-01T00:00:00Z")
+            @RequestParam(name = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @Parameter(description = "Конец периода (не включительно)", example = "2025-04-01T00:00:00Z")
+            @RequestParam(name = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to) {
 
         try {
             UserEntity user = jwtIdentificationUtils.getUserFromHeader(authHeader);
-            List<EventDto> eventList = eventService.getAllUserEvents(user.getId(), sortOption);
-            return ResponseEntity.ok(new GetAllUserEventsResponse(eventList));
+            return ResponseEntity.ok(eventService.getUserEventsPage(user.getId(), sortOption, cursor, limit, from, to));
         } catch (NoSuchElementException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(new AppError(HttpStatus.NOT_FOUND.value(), e.getMessage()));
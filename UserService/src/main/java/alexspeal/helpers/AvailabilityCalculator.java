@@ -10,6 +10,7 @@ import org.springframework.stereotype.Component;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Stream;
@@ -31,6 +32,59 @@ public class AvailabilityCalculator {
         return mergeAdjacentSegments(result);
     }
 
+    /**
+     * Timeline form: participants and allowed windows are {@code [start, end)} epoch-minute pairs,
+     * the result is {@code (start, end, count)} triples with adjacent equal counts merged.
+     */
+    public int[] calculateSegments(List<int[]> timelines, int[] allowedWindows) {
+        int capacity = 0;
+        for (int[] timeline : timelines) {
+            capacity += timeline.length + allowedWindows.length;
+        }
+
+        long[] events = new long[capacity];
+        int eventCount = 0;
+        for (int[] timeline : timelines) {
+            int i = 0;
+            int j = 0;
+            while (i < timeline.length && j < allowedWindows.length) {
+                int start = Math.max(timeline[i], allowedWindows[j]);
+                int end = Math.min(timeline[i + 1], allowedWindows[j + 1]);
+                if (start < end) {
+                    events[eventCount++] = (long) start << 1 | 1L;
+                    events[eventCount++] = (long) end << 1;
+                }
+                if (timeline[i + 1] < allowedWindows[j + 1]) {
+                    i += 2;
+                } else {
+                    j += 2;
+                }
+            }
+        }
+        Arrays.sort(events, 0, eventCount);
+
+        int[] segments = new int[eventCount / 2 * 3 * 2];
+        int size = 0;
+        int available = 0;
+        int cursor = 0;
+        for (int e = 0; e < eventCount; e++) {
+            int time = (int) (events[e] >> 1);
+            if (available > 0 && cursor < time) {
+                if (size > 0 && segments[size - 2] == cursor && segments[size - 1] == available) {
+                    segments[size - 2] = time;
+                } else {
+                    segments[size++] = cursor;
+                    segments[size++] = time;
+                    segments[size++] = available;
+                }
+            }
+            available += (events[e] & 1L) == 1L ? 1 : -1;
+            cursor = time;
+        }
+
+        return Arrays.copyOf(segments, size);
+    }
+
     private List<AvailabilitySegment> calculateWindowSegments(
             LocalDate day,
             List<ParticipantSchedule> schedules,
@@ -0,0 +1,154 @@
+package alexspeal.helpers;
+
+import alexspeal.models.AvailabilitySegment;
+import alexspeal.models.ParticipantSchedule;
+import alexspeal.models.TimeInterval;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static alexspeal.helpers.MinuteOfDay.MINUTES_PER_DAY;
+
+/**
+ * Minute-resolution counterpart of {@link AvailabilityCalculator}.
+ * Every participant-day is packed into a 1440-bit bitmap, participant counts are kept
+ * in bit-sliced counters (slice {@code s} holds bit {@code s} of the count for every minute),
+ * so adding a participant and finding count changes are word-wide operations.
+ */
+@Component
+public class BitsetAvailabilityCalculator {
+
+    private static final int WORDS = (MINUTES_PER_DAY + Long.SIZE - 1) / Long.SIZE;
+
+    public List<AvailabilitySegment> calculateSegments(
+            LocalDate day,
+            List<ParticipantSchedule> schedules,
+            List<TimeInterval> allowedWindows
+    ) {
+        long[] allowed = toBitmap(allowedWindows);
+        if (isEmpty(allowed) || schedules.isEmpty()) {
+            return List.of();
+        }
+
+        int sliceCount = Integer.SIZE - Integer.numberOfLeadingZeros(schedules.size());
+        long[][] counter = new long[sliceCount][WORDS];
+        long[] participant = new long[WORDS];
+
+        for (ParticipantSchedule schedule : schedules) {
+            List<TimeInterval> intervals = schedule.availability().getOrDefault(day, List.of());
+            if (intervals.isEmpty()) {
+                continue;
+            }
+
+            Arrays.fill(participant, 0L);
+            for (TimeInterval interval : intervals) {
+                setRange(participant, MinuteOfDay.ceil(interval.start()), MinuteOfDay.floor(interval.end()));
+            }
+            for (int w = 0; w < WORDS; w++) {
+                participant[w] &= allowed[w];
+            }
+
+            add(counter, participant);
+        }
+
+        return extractSegments(counter);
+    }
+
+    private static long[] toBitmap(List<TimeInterval> intervals) {
+        long[] bits = new long[WORDS];
+        for (TimeInterval interval : intervals) {
+            setRange(bits, MinuteOfDay.ceil(interval.start()), MinuteOfDay.floor(interval.end()));
+        }
+        return bits;
+    }
+
+    private static void setRange(long[] bits, int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+
+        if (firstWord == lastWord) {
+            bits[firstWord] |= firstMask & lastMask;
+            return;
+        }
+
+        bits[firstWord] |= firstMask;
+        for (int w = firstWord + 1; w < lastWord; w++) {
+            bits[w] = -1L;
+        }
+        bits[lastWord] |= lastMask;
+    }
+
+    private static boolean isEmpty(long[] bits) {
+        for (long word : bits) {
+            if (word != 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void add(long[][] counter, long[] bits) {
+        for (int w = 0; w < WORDS; w++) {
+            long carry = bits[w];
+            for (int s = 0; s < counter.length && carry != 0L; s++) {
+                long overflow = counter[s][w] & carry;
+                counter[s][w] ^= carry;
+                carry = overflow;
+            }
+        }
+    }
+
+    private static List<AvailabilitySegment> extractSegments(long[][] counter) {
+        long[] boundaries = new long[WORDS];
+        for (long[] slice : counter) {
+            long previousHighBit = 0L;
+            for (int w = 0; w < WORDS; w++) {
+                long word = slice[w];
+                boundaries[w] |= word ^ ((word << 1) | previousHighBit);
+                previousHighBit = word >>> 63;
+            }
+        }
+
+        List<AvailabilitySegment> segments = new ArrayList<>();
+        int segmentStart = 0;
+        int count = 0;
+
+        for (int w = 0; w < WORDS; w++) {
+            long word = boundaries[w];
+            while (word != 0L) {
+                int minute = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+
+                if (count > 0) {
+                    segments.add(new AvailabilitySegment(
+                            MinuteOfDay.toLocalTime(segmentStart),
+                            MinuteOfDay.toLocalTime(minute),
+                            count
+                    ));
+                }
+                segmentStart = minute;
+                count = countAt(counter, minute);
+            }
+        }
+
+        return segments;
+    }
+
+    private static int countAt(long[][] counter, int minute) {
+        int word = minute >>> 6;
+        int bit = minute & 63;
+        int count = 0;
+        for (int s = 0; s < counter.length; s++) {
+            count |= (int) ((counter[s][word] >>> bit) & 1L) << s;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,27 @@
+package alexspeal.helpers;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+
+/**
+ * Recognizes violations of the exclusion constraint on {@code participant_busy_ranges}: a participant
+ * would be busy twice at the same time.
+ */
+public final class BusyRangeConflicts {
+
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    private BusyRangeConflicts() {
+    }
+
+    public static boolean isConflict(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
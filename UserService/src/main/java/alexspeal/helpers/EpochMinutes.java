@@ -0,0 +1,40 @@
+package alexspeal.helpers;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static alexspeal.helpers.MinuteOfDay.MINUTES_PER_DAY;
+
+/**
+ * Conversions between instants and minutes since the epoch, the unit of {@code int[]} timelines
+ * where every interval is stored as a {@code [start, end)} pair.
+ */
+public final class EpochMinutes {
+
+    private EpochMinutes() {
+    }
+
+    public static int floor(OffsetDateTime time) {
+        return (int) Math.floorDiv(time.toEpochSecond(), 60L);
+    }
+
+    public static int ceil(OffsetDateTime time) {
+        long seconds = time.toEpochSecond();
+        boolean fraction = seconds % 60L != 0L || time.getNano() > 0;
+        return (int) (Math.floorDiv(seconds, 60L) + (fraction ? 1 : 0));
+    }
+
+    public static OffsetDateTime toOffsetDateTime(int epochMinute) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochMinute * 60L), ZoneOffset.UTC);
+    }
+
+    public static LocalDate utcDate(int epochMinute) {
+        return LocalDate.ofEpochDay(Math.floorDiv(epochMinute, MINUTES_PER_DAY));
+    }
+
+    public static int startOfUtcDay(LocalDate date) {
+        return (int) (date.toEpochDay() * MINUTES_PER_DAY);
+    }
+}
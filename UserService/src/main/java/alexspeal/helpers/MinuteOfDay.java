@@ -0,0 +1,35 @@
+package alexspeal.helpers;
+
+import java.time.LocalTime;
+
+/**
+ * Conversions between {@link LocalTime} and minute-of-day indexes.
+ * Minute {@value #MINUTES_PER_DAY} stands for the end of the day and maps to {@link LocalTime#MAX},
+ * the sentinel used when a working window is split at UTC midnight.
+ */
+public final class MinuteOfDay {
+
+    public static final int MINUTES_PER_DAY = 1440;
+
+    private MinuteOfDay() {
+    }
+
+    public static int ceil(LocalTime time) {
+        int minute = time.getHour() * 60 + time.getMinute();
+        return time.getSecond() > 0 || time.getNano() > 0 ? minute + 1 : minute;
+    }
+
+    public static int floor(LocalTime time) {
+        if (time.equals(LocalTime.MAX)) {
+            return MINUTES_PER_DAY;
+        }
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    public static LocalTime toLocalTime(int minute) {
+        if (minute >= MINUTES_PER_DAY) {
+            return LocalTime.MAX;
+        }
+        return LocalTime.of(minute / 60, minute % 60);
+    }
+}
@@ -0,0 +1,39 @@
+package alexspeal.helpers;
+
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Time zone of a user as stored in {@code users.timezone}. Only region IDs such as {@code Europe/Moscow}
+ * are honoured; anything else, including offset IDs like {@code UTC+3} or {@code +03:00}, falls back to
+ * UTC. The resolved ID is handed to Postgres {@code AT TIME ZONE}, which reads offset IDs with the POSIX
+ * sign, and the daily-load backfill migrations apply the same fallback to names outside
+ * {@code pg_timezone_names}. The fixed zones {@code EST}, {@code MST} and {@code HST}, known to Postgres
+ * but not listed by Java, map to their {@code Etc/GMT} equivalents.
+ */
+public final class UserZones {
+
+    private static final String FALLBACK_TIMEZONE = "UTC";
+    private static final Set<String> REGION_IDS = Set.copyOf(ZoneId.getAvailableZoneIds());
+    private static final Map<String, String> FIXED_ZONES = Map.of(
+            "EST", "Etc/GMT+5",
+            "MST", "Etc/GMT+7",
+            "HST", "Etc/GMT+10");
+
+    private UserZones() {
+    }
+
+    public static ZoneId resolve(String timezone) {
+        if (timezone == null) {
+            return ZoneId.of(FALLBACK_TIMEZONE);
+        }
+        if (FIXED_ZONES.containsKey(timezone)) {
+            return ZoneId.of(FIXED_ZONES.get(timezone));
+        }
+        if (!REGION_IDS.contains(timezone)) {
+            return ZoneId.of(FALLBACK_TIMEZONE);
+        }
+        return ZoneId.of(timezone);
+    }
+}
@@ -1,27 +1,16 @@
 package alexspeal.mappers;
 
 import alexspeal.dto.EventParticipantsDto;
-import alexspeal.entities.DayEntity;
 import alexspeal.entities.EventParticipantEntity;
-import alexspeal.repositories.DayRepository;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.util.List;
 
 @Component
-@RequiredArgsConstructor
 public class EventParticipantMapper {
 
-    private final DayRepository dayRepository;
-
-    public EventParticipantsDto toEventParticipantsDto(EventParticipantEntity participant) {
-        List<LocalDate> selectedDays = dayRepository.findByEventParticipantId(participant.getId())
-                .stream()
-                .map(DayEntity::getDate)
-                .toList();
-
+    public EventParticipantsDto toEventParticipantsDto(EventParticipantEntity participant, List<LocalDate> selectedDays) {
         return new EventParticipantsDto(
                 participant.getId(),
                 participant.getEvent().getId(),
@@ -32,4 +21,4 @@ public class EventParticipantMapper {
                 participant.isRequired()
         );
     }
-}
\ No newline at end of file
+}
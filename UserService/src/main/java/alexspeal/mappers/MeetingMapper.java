@@ -2,51 +2,73 @@ package alexspeal.mappers;
 
 import alexspeal.dto.EventDto;
 import alexspeal.dto.EventParticipantsDto;
-import alexspeal.entities.DayEntity;
 import alexspeal.entities.EventEntity;
 import alexspeal.entities.EventParticipantEntity;
 import alexspeal.enums.ErrorMessage;
-import alexspeal.repositories.DayRepository;
 import alexspeal.repositories.MeetingParticipantRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.stream.Collectors;
 
+/**
+ * Builds {@link EventDto}s with a fixed number of queries regardless of how many events are mapped:
+ * participants with their users for all events; selected days are stored on the participant rows.
+ */
 @Component
 @RequiredArgsConstructor
 public class MeetingMapper {
 
     private final EventParticipantMapper participantMapper;
-    private final DayRepository dayRepository;
     private final MeetingParticipantRepository meetingParticipantRepository;
 
     public EventDto toEventDto(EventEntity event) {
-        EventParticipantEntity authorParticipant = meetingParticipantRepository
-                .findByEventIdAndUserId(event.getId(), event.getAuthor().getId())
-                .orElseThrow(() -> new IllegalStateException(ErrorMessage.NOT_FOUND_AUTHOR.getMessage()));
+        return toEventDtos(List.of(event)).get(0);
+    }
 
-        List<LocalDate> possibleDays = dayRepository
-                .findByEventParticipantId(authorParticipant.getId())
-                .stream()
-                .map(DayEntity::getDate)
-                .toList();
+    public List<EventDto> toEventDtos(List<EventEntity> events) {
+        if (events.isEmpty()) {
+            return List.of();
+        }
 
-        List<EventParticipantsDto> participants = Optional.ofNullable(event.getEventParticipants())
-                .orElseGet(List::of)
+        List<Long> eventIds = events.stream().map(EventEntity::getId).toList();
+        Map<Long, List<EventParticipantEntity>> participantsByEvent = meetingParticipantRepository
+                .findWithUsersByEventIds(eventIds)
                 .stream()
-                .map(participantMapper::toEventParticipantsDto)
+                .collect(Collectors.groupingBy(participant -> participant.getEvent().getId()));
+
+        List<EventDto> result = new ArrayList<>(events.size());
+        for (EventEntity event : events) {
+            result.add(toEventDto(event, participantsByEvent.getOrDefault(event.getId(), List.of())));
+        }
+        return result;
+    }
+
+    private EventDto toEventDto(EventEntity event, List<EventParticipantEntity> participants) {
+        Long authorId = event.getAuthor().getId();
+        EventParticipantEntity authorParticipant = participants.stream()
+                .filter(participant -> participant.getUser().getId().equals(authorId))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException(ErrorMessage.NOT_FOUND_AUTHOR.getMessage()));
+
+        List<LocalDate> possibleDays = authorParticipant.getSelectedDays();
+
+        List<EventParticipantsDto> participantDtos = participants.stream()
+                .map(participant -> participantMapper.toEventParticipantsDto(participant,
+                        participant.getSelectedDays()))
                 .toList();
 
         return new EventDto(
                 event.getId(),
                 event.getTitle(),
                 event.getDescription(),
-                event.getAuthor().getId(),
+                authorId,
                 possibleDays,
-                participants,
+                participantDtos,
                 event.getIsPersonal(),
                 event.getIsFixed(),
                 event.getPreferredWindowStart(),
@@ -57,4 +79,4 @@ public class MeetingMapper {
                 event.getCreatedAt()
         );
     }
-}
\ No newline at end of file
+}
@@ -4,9 +4,12 @@ import alexspeal.entities.EventEntity;
 import alexspeal.entities.EventParticipantEntity;
 import alexspeal.enums.AcceptStatusParticipant;
 import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,4 +24,22 @@ public interface MeetingParticipantRepository extends CrudRepository<EventPartic
 
     List<EventParticipantEntity> findByEventIdAndStatus(long meetingId, AcceptStatusParticipant status);
 
+    @Query("""
+                SELECT ep
+                FROM EventParticipantEntity ep
+                JOIN FETCH ep.user
+                WHERE ep.event.id IN :eventIds
+                ORDER BY ep.id
+            """)
+    List<EventParticipantEntity> findWithUsersByEventIds(@Param("eventIds") Collection<Long> eventIds);
+
+    @Query("""
+                SELECT ep
+                FROM EventParticipantEntity ep
+                WHERE ep.user.id = :userId
+                AND ep.event.id IN :eventIds
+            """)
+    List<EventParticipantEntity> findByUserIdAndEventIds(@Param("userId") Long userId,
+                                                         @Param("eventIds") Collection<Long> eventIds);
+
 }
\ No newline at end of file
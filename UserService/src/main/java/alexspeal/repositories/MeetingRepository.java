@@ -1,6 +1,7 @@
 package alexspeal.repositories;
 
 import alexspeal.dto.BusyIntervalDto;
+import alexspeal.dto.ParticipantBusyIntervalDto;
 import alexspeal.entities.EventEntity;
 import alexspeal.enums.AcceptStatusEvent;
 import jakarta.transaction.Transactional;
@@ -11,11 +12,12 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 @Transactional
-public interface MeetingRepository extends CrudRepository<EventEntity, Long> {
+public interface MeetingRepository extends CrudRepository<EventEntity, Long>, MeetingRepositoryCustom {
     @Query("""
                 SELECT new alexspeal.dto.BusyIntervalDto(e.id, e.startTime, e.duration, e.isFixed, e.isPersonal)
                 FROM EventEntity e
@@ -29,6 +31,34 @@ public interface MeetingRepository extends CrudRepository<EventEntity, Long> {
                                            @Param("from") OffsetDateTime from,
                                            @Param("to") OffsetDateTime to);
 
+    @Query("""
+                SELECT new alexspeal.dto.ParticipantBusyIntervalDto(
+                    ep.user.id, e.id, e.startTime, e.duration, e.isFixed, e.isPersonal)
+                FROM EventEntity e
+                JOIN e.eventParticipants ep
+                WHERE ep.user.id IN :userIds
+                AND ep.status = 'ACCEPTED'
+                AND e.startTime IS NOT NULL
+                AND e.startTime >= :from
+                AND e.startTime < :to
+            """)
+    List<ParticipantBusyIntervalDto> getBusyIntervalsForUsers(@Param("userIds") Collection<Long> userIds,
+                                                              @Param("from") OffsetDateTime from,
+                                                              @Param("to") OffsetDateTime to);
+
+    @Query("""
+                SELECT new alexspeal.dto.ParticipantBusyIntervalDto(
+                    ep.user.id, e.id, e.startTime, e.duration, e.isFixed, e.isPersonal)
+                FROM EventEntity e
+                JOIN e.eventParticipants ep
+                WHERE ep.status = 'ACCEPTED'
+                AND e.startTime IS NOT NULL
+                AND e.startTime >= :from
+                AND e.startTime < :to
+            """)
+    List<ParticipantBusyIntervalDto> getAllBusyIntervals(@Param("from") OffsetDateTime from,
+                                                         @Param("to") OffsetDateTime to);
+
     @Query("""
                 SELECT DISTINCT e
                 FROM EventEntity e
@@ -45,17 +75,47 @@ public interface MeetingRepository extends CrudRepository<EventEntity, Long> {
                                                     @Param("startInclusive") OffsetDateTime startInclusive,
                                                     @Param("endExclusive") OffsetDateTime endExclusive);
 
-    @Modifying
-    @Query("UPDATE EventEntity e SET e.startTime = :startTime WHERE e.id = :eventId")
-    void updateEventStartTime(@Param("eventId") Long eventId,
-                              @Param("startTime") OffsetDateTime startTime);
+    @Query(value = """
+                SELECT e.*
+                FROM events e
+                JOIN event_participants ep ON ep.event_id = e.id
+                WHERE ep.user_id = :userId
+                AND ep.status = 'ACCEPTED'
+                AND e.is_personal = TRUE
+                AND e.is_fixed = FALSE
+                AND e.busy_range && tstzrange(CAST(:from AS timestamptz), CAST(:to AS timestamptz), '[)')
+            """, nativeQuery = true)
+    List<EventEntity> findUserMovablePersonalEventsOverlapping(@Param("userId") Long userId,
+                                                               @Param("from") OffsetDateTime from,
+                                                               @Param("to") OffsetDateTime to);
+
+    @Query(value = """
+                SELECT DISTINCT ep.user_id
+                FROM events e
+                JOIN event_participants ep ON ep.event_id = e.id
+                WHERE ep.user_id IN :userIds
+                AND ep.status = 'ACCEPTED'
+                AND e.id <> :excludedEventId
+                AND e.busy_range && tstzrange(CAST(:from AS timestamptz), CAST(:to AS timestamptz), '[)')
+            """, nativeQuery = true)
+    List<Long> findUserIdsBusyBetween(@Param("userIds") Collection<Long> userIds,
+                                      @Param("excludedEventId") Long excludedEventId,
+                                      @Param("from") OffsetDateTime from,
+                                      @Param("to") OffsetDateTime to);
 
     @Query("""
-            SELECT e
-            FROM EventEntity e
-            JOIN e.eventParticipants ep ON ep.user.id = :userId
+                SELECT DISTINCT ep.user.id
+                FROM EventEntity e
+                JOIN e.eventParticipants ep
+                WHERE ep.status = 'ACCEPTED'
+                AND e.startTime IS NOT NULL
+                AND e.isPersonal = TRUE
+                AND e.isFixed = FALSE
+                AND e.startTime < :endExclusive
+                AND e.startTime >= :startInclusive
             """)
-    List<EventEntity> getAllUserEvents(@Param("userId") Long userId);
+    List<Long> findUserIdsWithMovablePersonalEvents(@Param("startInclusive") OffsetDateTime startInclusive,
+                                                    @Param("endExclusive") OffsetDateTime endExclusive);
 
 
     @Modifying
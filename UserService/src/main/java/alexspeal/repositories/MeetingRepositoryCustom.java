@@ -0,0 +1,40 @@
+package alexspeal.repositories;
+
+import alexspeal.entities.EventEntity;
+import alexspeal.enums.SortOption;
+import alexspeal.models.EventPageCursor;
+import alexspeal.models.PlannedRelocation;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface MeetingRepositoryCustom {
+
+    /**
+     * Moves all events in one statement; an event is moved only if it still starts at
+     * {@link PlannedRelocation#currentStart()}. Returns the number of moved events; busy ranges of the
+     * moved events are left to {@link #refreshParticipantBusyRanges}.
+     */
+    int moveEventStartTimes(List<PlannedRelocation> relocations);
+
+    /**
+     * Rebuilds the rows of {@code participant_busy_ranges} for the accepted participants of the events.
+     * All rows of the events are deleted before any is inserted, so events moved within one transaction
+     * must be refreshed in a single call. The exclusion constraint of the table rejects a range that
+     * overlaps another range of the same user.
+     */
+    void refreshParticipantBusyRanges(Collection<Long> eventIds);
+
+    /**
+     * Events of the user ordered by the sort key (missing keys last) and then by id, starting right after
+     * {@code after} when it is given. {@code from} and {@code to} optionally bound the start time as
+     * {@code [from, to)}. A {@code null} limit returns every matching event.
+     */
+    List<EventEntity> findUserEventPage(Long userId,
+                                        SortOption sort,
+                                        EventPageCursor after,
+                                        OffsetDateTime from,
+                                        OffsetDateTime to,
+                                        Integer limit);
+}
@@ -0,0 +1,154 @@
+package alexspeal.repositories;
+
+import alexspeal.entities.EventEntity;
+import alexspeal.enums.AcceptStatusEvent;
+import alexspeal.enums.SortOption;
+import alexspeal.models.EventPageCursor;
+import alexspeal.models.PlannedRelocation;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.StringJoiner;
+
+public class MeetingRepositoryCustomImpl implements MeetingRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int moveEventStartTimes(List<PlannedRelocation> relocations) {
+        if (relocations.isEmpty()) {
+            return 0;
+        }
+
+        StringJoiner values = new StringJoiner(", ");
+        for (int i = 0; i < relocations.size(); i++) {
+            int p = i * 3;
+            values.add("(CAST(?%d AS bigint), CAST(?%d AS timestamptz), CAST(?%d AS timestamptz))"
+                    .formatted(p + 1, p + 2, p + 3));
+        }
+
+        Query query = entityManager.createNativeQuery("""
+                UPDATE events AS e
+                SET start_time = v.new_start
+                FROM (VALUES %s) AS v(id, current_start, new_start)
+                WHERE e.id = v.id AND e.start_time = v.current_start
+                """.formatted(values));
+        for (int i = 0; i < relocations.size(); i++) {
+            PlannedRelocation relocation = relocations.get(i);
+            int p = i * 3;
+            query.setParameter(p + 1, relocation.eventId());
+            query.setParameter(p + 2, relocation.currentStart());
+            query.setParameter(p + 3, relocation.newStart());
+        }
+        return query.executeUpdate();
+    }
+
+    @Override
+    public void refreshParticipantBusyRanges(Collection<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+
+        entityManager.flush();
+        entityManager.createNativeQuery("""
+                        DELETE FROM participant_busy_ranges
+                        WHERE event_id IN (:eventIds)
+                        """)
+                .setParameter("eventIds", eventIds)
+                .executeUpdate();
+        entityManager.createNativeQuery("""
+                        INSERT INTO participant_busy_ranges (user_id, event_id, busy_range)
+                        SELECT ep.user_id, e.id, e.busy_range
+                        FROM events e
+                        JOIN event_participants ep ON ep.event_id = e.id
+                        WHERE e.id IN (:eventIds)
+                        AND ep.status = 'ACCEPTED'
+                        AND e.busy_range IS NOT NULL
+                        """)
+                .setParameter("eventIds", eventIds)
+                .executeUpdate();
+    }
+
+    @Override
+    public List<EventEntity> findUserEventPage(Long userId,
+                                               SortOption sort,
+                                               EventPageCursor after,
+                                               OffsetDateTime from,
+                                               OffsetDateTime to,
+                                               Integer limit) {
+        String key = sortKey(sort);
+        boolean nullable = sort != SortOption.STATUS;
+
+        StringBuilder jpql = new StringBuilder("""
+                SELECT e
+                FROM EventEntity e
+                JOIN FETCH e.author
+                WHERE EXISTS (
+                    SELECT ep.id FROM EventParticipantEntity ep
+                    WHERE ep.event = e AND ep.user.id = :userId
+                )
+                """);
+        if (from != null) {
+            jpql.append("AND e.startTime >= :from\n");
+        }
+        if (to != null) {
+            jpql.append("AND e.startTime < :to\n");
+        }
+        if (after != null) {
+            if (after.key() == null) {
+                jpql.append("AND %1$s IS NULL AND e.id > :afterId\n".formatted(key));
+            } else {
+                jpql.append("AND (%1$s > :afterKey OR (%1$s = :afterKey AND e.id > :afterId)%2$s)\n"
+                        .formatted(key, nullable ? " OR %s IS NULL".formatted(key) : ""));
+            }
+        }
+        jpql.append("ORDER BY %s%s, e.id".formatted(key, nullable ? " NULLS LAST" : ""));
+
+        TypedQuery<EventEntity> query = entityManager.createQuery(jpql.toString(), EventEntity.class)
+                .setParameter("userId", userId);
+        if (limit != null) {
+            query.setMaxResults(limit);
+        }
+        if (from != null) {
+            query.setParameter("from", from);
+        }
+        if (to != null) {
+            query.setParameter("to", to);
+        }
+        if (after != null) {
+            query.setParameter("afterId", after.id());
+            if (after.key() != null) {
+                query.setParameter("afterKey", sort == SortOption.STATUS
+                        ? ((AcceptStatusEvent) after.key()).ordinal()
+                        : after.key());
+            }
+        }
+        return query.getResultList();
+    }
+
+    private static String sortKey(SortOption sort) {
+        return switch (sort) {
+            case DATE -> "e.startTime";
+            case TITLE -> "e.title";
+            case STATUS -> statusRank();
+        };
+    }
+
+    /**
+     * Status is stored as text, so it is ranked explicitly to keep the declaration order of the enum.
+     */
+    private static String statusRank() {
+        StringJoiner rank = new StringJoiner(" ", "CASE e.status ", " END");
+        for (AcceptStatusEvent status : AcceptStatusEvent.values()) {
+            rank.add("WHEN %s.%s THEN %d".formatted(
+                    AcceptStatusEvent.class.getName(), status.name(), status.ordinal()));
+        }
+        return rank.toString();
+    }
+}
@@ -0,0 +1,53 @@
+package alexspeal.repositories;
+
+import alexspeal.entities.UserDailyLoadEntity;
+import alexspeal.models.UserDailyLoadId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface UserDailyLoadRepository extends JpaRepository<UserDailyLoadEntity, UserDailyLoadId> {
+
+    List<UserDailyLoadEntity> findByUserIdInAndLocalDateGreaterThanEqual(Collection<Long> userIds, LocalDate from);
+
+    @Modifying
+    @Query("""
+        delete from UserDailyLoadEntity l
+         where l.userId = :userId
+           and l.localDate >= :from
+    """)
+    int deleteFrom(@Param("userId") Long userId, @Param("from") LocalDate from);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO user_daily_load (user_id, local_date, load_minutes)
+        SELECT :userId,
+               CAST(day_series.day_start AS date),
+               CAST(SUM(FLOOR(EXTRACT(EPOCH FROM
+                   LEAST(busy.end_time, CAST(CAST(day_series.day_start AS date) + 1 AS timestamp) AT TIME ZONE :zone)
+                       - GREATEST(busy.start_time, CAST(CAST(day_series.day_start AS date) AS timestamp) AT TIME ZONE :zone)
+               ) / 60)) AS int)
+        FROM (SELECT e.start_time,
+                     e.start_time + e.duration * INTERVAL '1 minute' AS end_time
+              FROM events e
+                       JOIN event_participants ep ON ep.event_id = e.id
+              WHERE ep.user_id = :userId
+                AND ep.status = 'ACCEPTED'
+                AND e.start_time IS NOT NULL
+                AND e.start_time + e.duration * INTERVAL '1 minute' > CAST(CAST(:from AS date) AS timestamp) AT TIME ZONE :zone
+             ) busy
+                 CROSS JOIN LATERAL generate_series(
+                GREATEST(CAST(busy.start_time AT TIME ZONE :zone AS date), CAST(:from AS date)),
+                CAST((busy.end_time - INTERVAL '1 microsecond') AT TIME ZONE :zone AS date),
+                INTERVAL '1 day') AS day_series(day_start)
+        GROUP BY CAST(day_series.day_start AS date)
+    """, nativeQuery = true)
+    int insertAggregatedFrom(@Param("userId") Long userId,
+                             @Param("zone") String zone,
+                             @Param("from") LocalDate from);
+}
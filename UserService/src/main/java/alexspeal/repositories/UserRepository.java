@@ -2,9 +2,13 @@ package alexspeal.repositories;
 
 import alexspeal.entities.UserEntity;
 import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +17,12 @@ public interface UserRepository extends CrudRepository<UserEntity, Long> {
     Optional<UserEntity> findByUsername(String username);
     Optional<UserEntity> findByVkUserId(Long vkUserId);
     boolean existsByVkUserId(Long vkUserId);
+
+    @Query(value = "SELECT calendar_version FROM users WHERE id = :userId", nativeQuery = true)
+    Optional<Long> findCalendarVersion(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "UPDATE users SET calendar_version = calendar_version + 1 WHERE id IN (:userIds)",
+            nativeQuery = true)
+    int incrementCalendarVersions(@Param("userIds") Collection<Long> userIds);
 }
@@ -0,0 +1,114 @@
+package alexspeal.service;
+
+import alexspeal.config.AvailabilityProperties;
+import alexspeal.models.CalendarChangedEvent;
+import alexspeal.models.MeetingAvailability;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Per-meeting availability results. Entries are dropped after commit of any change that touches
+ * the meeting itself or the calendar of one of its accepted participants.
+ */
+@Component
+public class AvailabilityCache {
+
+    private static final String CACHE_NAME = "meetingAvailability";
+
+    private final boolean enabled;
+    private final Cache<Long, MeetingAvailability> cache;
+    private final Map<Long, Set<Long>> meetingsByUser = new ConcurrentHashMap<>();
+    private long generation;
+
+    public AvailabilityCache(AvailabilityProperties availabilityProperties, MeterRegistry meterRegistry) {
+        AvailabilityProperties.Cache settings = availabilityProperties.cache();
+        this.enabled = settings.enabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(settings.maxSize())
+                .expireAfterWrite(settings.ttl())
+                .removalListener(this::onRemoval)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public MeetingAvailability get(Long meetingId, Function<Long, MeetingAvailability> loader) {
+        if (!enabled) {
+            return loader.apply(meetingId);
+        }
+
+        MeetingAvailability cached = cache.getIfPresent(meetingId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadGeneration = currentGeneration();
+        MeetingAvailability computed = loader.apply(meetingId);
+        store(meetingId, computed, loadGeneration);
+        return computed;
+    }
+
+    public void evict(Long meetingId) {
+        synchronized (this) {
+            generation++;
+        }
+        cache.invalidate(meetingId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCalendarChanged(CalendarChangedEvent event) {
+        synchronized (this) {
+            generation++;
+        }
+
+        if (event.meetingId() != null) {
+            cache.invalidate(event.meetingId());
+        }
+
+        for (Long userId : event.userIds()) {
+            Set<Long> meetingIds = meetingsByUser.remove(userId);
+            if (meetingIds != null) {
+                cache.invalidateAll(meetingIds);
+            }
+        }
+    }
+
+    private synchronized long currentGeneration() {
+        return generation;
+    }
+
+    private synchronized void store(Long meetingId, MeetingAvailability availability, long loadGeneration) {
+        if (loadGeneration != generation) {
+            return;
+        }
+
+        for (Long userId : availability.participantUserIds()) {
+            meetingsByUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(meetingId);
+        }
+        cache.put(meetingId, availability);
+    }
+
+    private synchronized void onRemoval(Long meetingId, MeetingAvailability availability, RemovalCause cause) {
+        if (meetingId == null || availability == null || cause == RemovalCause.REPLACED
+                || cache.asMap().containsKey(meetingId)) {
+            return;
+        }
+
+        for (Long userId : availability.participantUserIds()) {
+            meetingsByUser.computeIfPresent(userId, (id, meetingIds) -> {
+                meetingIds.remove(meetingId);
+                return meetingIds.isEmpty() ? null : meetingIds;
+            });
+        }
+    }
+}
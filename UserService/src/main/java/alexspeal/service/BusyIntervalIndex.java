@@ -0,0 +1,234 @@
+package alexspeal.service;
+
+import alexspeal.config.BusyIndexProperties;
+import alexspeal.dto.BusyIntervalDto;
+import alexspeal.dto.ParticipantBusyIntervalDto;
+import alexspeal.models.CalendarChangedEvent;
+import alexspeal.repositories.MeetingRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory answer to {@link MeetingRepository#getBusyIntervals}: per user, accepted scheduled events
+ * starting inside a window around now, kept as start-sorted primitive arrays. Users are evicted by
+ * size (total number of stored intervals) and the entries of users whose calendar changed are dropped
+ * after commit. Requests outside the indexed window go to the database.
+ */
+@Slf4j
+@Component
+public class BusyIntervalIndex {
+
+    private static final String CACHE_NAME = "busyIntervals";
+
+    private final MeetingRepository meetingRepository;
+    private final BusyIndexProperties properties;
+    private final Cache<Long, UserBusyTimeline> timelines;
+    private long generation;
+
+    public BusyIntervalIndex(MeetingRepository meetingRepository,
+                             BusyIndexProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.meetingRepository = meetingRepository;
+        this.properties = properties;
+        this.timelines = Caffeine.newBuilder()
+                .maximumWeight(properties.maxIntervals())
+                .weigher((Long userId, UserBusyTimeline timeline) -> timeline.size() + 1)
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, timelines, CACHE_NAME);
+    }
+
+    public List<BusyIntervalDto> getBusyIntervals(Long userId, OffsetDateTime from, OffsetDateTime to) {
+        if (!properties.enabled()) {
+            return meetingRepository.getBusyIntervals(userId, from, to);
+        }
+
+        UserBusyTimeline timeline = timelines.getIfPresent(userId);
+        if (timeline == null) {
+            Window window = currentWindow();
+            if (!window.covers(from, to)) {
+                return meetingRepository.getBusyIntervals(userId, from, to);
+            }
+            timeline = load(userId, window);
+        }
+
+        if (!timeline.window().covers(from, to)) {
+            return meetingRepository.getBusyIntervals(userId, from, to);
+        }
+        return timeline.slice(from, to);
+    }
+
+    public Map<Long, List<BusyIntervalDto>> getBusyIntervalsByUser(Collection<Long> userIds,
+                                                                  OffsetDateTime from,
+                                                                  OffsetDateTime to) {
+        Window window = currentWindow();
+        if (!properties.enabled() || !window.covers(from, to)) {
+            return group(meetingRepository.getBusyIntervalsForUsers(userIds, from, to));
+        }
+
+        Map<Long, List<BusyIntervalDto>> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long userId : userIds) {
+            UserBusyTimeline timeline = timelines.getIfPresent(userId);
+            if (timeline != null && timeline.window().covers(from, to)) {
+                result.put(userId, timeline.slice(from, to));
+            } else {
+                missing.add(userId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            long loadGeneration = currentGeneration();
+            Map<Long, List<BusyIntervalDto>> loaded = group(
+                    meetingRepository.getBusyIntervalsForUsers(missing, window.from(), window.to()));
+            for (Long userId : missing) {
+                UserBusyTimeline timeline = UserBusyTimeline.of(window, loaded.getOrDefault(userId, List.of()));
+                store(userId, timeline, loadGeneration);
+                result.put(userId, timeline.slice(from, to));
+            }
+        }
+
+        return result;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!properties.enabled() || !properties.warmUp()) {
+            return;
+        }
+
+        long loadGeneration = currentGeneration();
+        Window window = currentWindow();
+        Map<Long, List<BusyIntervalDto>> busyByUser = group(
+                meetingRepository.getAllBusyIntervals(window.from(), window.to()));
+        busyByUser.forEach((userId, busy) -> store(userId, UserBusyTimeline.of(window, busy), loadGeneration));
+        log.info("Busy interval index warmed up for {} users", busyByUser.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCalendarChanged(CalendarChangedEvent event) {
+        synchronized (this) {
+            generation++;
+        }
+        timelines.invalidateAll(event.userIds());
+    }
+
+    private UserBusyTimeline load(Long userId, Window window) {
+        long loadGeneration = currentGeneration();
+        UserBusyTimeline timeline = UserBusyTimeline.of(window,
+                meetingRepository.getBusyIntervals(userId, window.from(), window.to()));
+        store(userId, timeline, loadGeneration);
+        return timeline;
+    }
+
+    private synchronized long currentGeneration() {
+        return generation;
+    }
+
+    private synchronized void store(Long userId, UserBusyTimeline timeline, long loadGeneration) {
+        if (loadGeneration == generation) {
+            timelines.put(userId, timeline);
+        }
+    }
+
+    private Window currentWindow() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        OffsetDateTime from = now.minus(properties.lookback()).toLocalDate().atStartOfDay().atOffset(ZoneOffset.UTC);
+        return new Window(from, now.plus(properties.horizon()));
+    }
+
+    private static Map<Long, List<BusyIntervalDto>> group(List<ParticipantBusyIntervalDto> intervals) {
+        return intervals.stream()
+                .collect(Collectors.groupingBy(
+                        ParticipantBusyIntervalDto::userId,
+                        Collectors.mapping(
+                                dto -> new BusyIntervalDto(dto.eventId(), dto.startTime(), dto.duration(),
+                                        dto.isFixed(), dto.isPersonal()),
+                                Collectors.toList())
+                ));
+    }
+
+    private record Window(OffsetDateTime from, OffsetDateTime to) {
+
+        boolean covers(OffsetDateTime rangeFrom, OffsetDateTime rangeTo) {
+            return !rangeFrom.isBefore(from) && !rangeTo.isAfter(to);
+        }
+    }
+
+    private record UserBusyTimeline(Window window,
+                                    long[] startSeconds,
+                                    long[] eventIds,
+                                    int[] durations,
+                                    Boolean[] fixed,
+                                    Boolean[] personal) {
+
+        static UserBusyTimeline of(Window window, List<BusyIntervalDto> busy) {
+            List<BusyIntervalDto> sorted = busy.stream()
+                    .sorted(Comparator.comparing(BusyIntervalDto::startTime))
+                    .toList();
+
+            int size = sorted.size();
+            long[] startSeconds = new long[size];
+            long[] eventIds = new long[size];
+            int[] durations = new int[size];
+            Boolean[] fixed = new Boolean[size];
+            Boolean[] personal = new Boolean[size];
+            for (int i = 0; i < size; i++) {
+                BusyIntervalDto dto = sorted.get(i);
+                startSeconds[i] = dto.startTime().toEpochSecond();
+                eventIds[i] = dto.eventId();
+                durations[i] = dto.duration();
+                fixed[i] = dto.isFixed();
+                personal[i] = dto.isPersonal();
+            }
+            return new UserBusyTimeline(window, startSeconds, eventIds, durations, fixed, personal);
+        }
+
+        int size() {
+            return startSeconds.length;
+        }
+
+        List<BusyIntervalDto> slice(OffsetDateTime from, OffsetDateTime to) {
+            int lower = lowerBound(from.toEpochSecond());
+            int upper = lowerBound(to.toEpochSecond());
+
+            List<BusyIntervalDto> result = new ArrayList<>(Math.max(upper - lower, 0));
+            for (int i = lower; i < upper; i++) {
+                OffsetDateTime start = OffsetDateTime.ofInstant(Instant.ofEpochSecond(startSeconds[i]), ZoneOffset.UTC);
+                result.add(new BusyIntervalDto(eventIds[i], start, durations[i], fixed[i], personal[i]));
+            }
+            return result;
+        }
+
+        private int lowerBound(long epochSecond) {
+            int index = Arrays.binarySearch(startSeconds, epochSecond);
+            if (index < 0) {
+                return -index - 1;
+            }
+            while (index > 0 && startSeconds[index - 1] == epochSecond) {
+                index--;
+            }
+            return index;
+        }
+    }
+}
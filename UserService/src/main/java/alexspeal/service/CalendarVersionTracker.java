@@ -0,0 +1,31 @@
+package alexspeal.service;
+
+import alexspeal.models.CalendarChangedEvent;
+import alexspeal.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Per-user calendar version stored in {@code users.calendar_version} and bumped inside the transaction
+ * of every change to the user's calendar, so a change committed on any instance is visible to all.
+ * Anything computed from a calendar snapshot can remember the version and detect staleness later.
+ */
+@Component
+@RequiredArgsConstructor
+public class CalendarVersionTracker {
+
+    private final UserRepository userRepository;
+
+    public long current(Long userId) {
+        return userRepository.findCalendarVersion(userId).orElse(0L);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onCalendarChanged(CalendarChangedEvent event) {
+        if (!event.userIds().isEmpty()) {
+            userRepository.incrementCalendarVersions(event.userIds());
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package alexspeal.service;
+
+import alexspeal.config.AvailabilityProperties;
+import alexspeal.entities.UserDailyLoadEntity;
+import alexspeal.models.CalendarChangedEvent;
+import alexspeal.repositories.UserDailyLoadRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read side of the {@code user_daily_load} table: booked minutes per user and local day.
+ * Rows of users whose calendar changed are recomputed after commit, then the in-memory copy is dropped.
+ * The listener runs first among the calendar listeners, so availability rebuilt after their invalidation
+ * already reads the recomputed rows. A failed recompute is logged and leaves the old rows in place; it
+ * must not surface as an error of the request that already committed.
+ */
+@Slf4j
+@Service
+public class DailyLoadService {
+
+    private final UserDailyLoadRepository dailyLoadRepository;
+    private final DailyLoadTxService dailyLoadTxService;
+    private final Cache<Long, Map<LocalDate, Integer>> loadsByUser;
+    private long generation;
+
+    public DailyLoadService(UserDailyLoadRepository dailyLoadRepository,
+                            DailyLoadTxService dailyLoadTxService,
+                            AvailabilityProperties availabilityProperties) {
+        this.dailyLoadRepository = dailyLoadRepository;
+        this.dailyLoadTxService = dailyLoadTxService;
+        AvailabilityProperties.Cache settings = availabilityProperties.cache();
+        this.loadsByUser = Caffeine.newBuilder()
+                .maximumSize(settings.maxSize())
+                .expireAfterWrite(settings.ttl())
+                .build();
+    }
+
+    public Map<LocalDate, Integer> loadsOf(Long userId) {
+        return loadsOf(List.of(userId)).getOrDefault(userId, Map.of());
+    }
+
+    public Map<Long, Map<LocalDate, Integer>> loadsOf(Collection<Long> userIds) {
+        Map<Long, Map<LocalDate, Integer>> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long userId : userIds) {
+            Map<LocalDate, Integer> loads = loadsByUser.getIfPresent(userId);
+            if (loads != null) {
+                result.put(userId, loads);
+            } else {
+                missing.add(userId);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        long loadGeneration = currentGeneration();
+        Map<Long, Map<LocalDate, Integer>> loaded = new HashMap<>();
+        for (Long userId : missing) {
+            loaded.put(userId, new HashMap<>());
+        }
+        LocalDate from = LocalDate.now(ZoneOffset.UTC).minusDays(2);
+        for (UserDailyLoadEntity row : dailyLoadRepository.findByUserIdInAndLocalDateGreaterThanEqual(missing, from)) {
+            loaded.get(row.getUserId()).put(row.getLocalDate(), row.getLoadMinutes());
+        }
+
+        loaded.forEach((userId, loads) -> {
+            Map<LocalDate, Integer> view = Map.copyOf(loads);
+            store(userId, view, loadGeneration);
+            result.put(userId, view);
+        });
+        return result;
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCalendarChanged(CalendarChangedEvent event) {
+        if (event.userIds().isEmpty()) {
+            return;
+        }
+
+        try {
+            dailyLoadTxService.refresh(event.userIds());
+        } catch (RuntimeException e) {
+            log.error("Failed to refresh daily load of users {}", event.userIds(), e);
+        }
+        synchronized (this) {
+            generation++;
+        }
+        loadsByUser.invalidateAll(event.userIds());
+    }
+
+    private synchronized long currentGeneration() {
+        return generation;
+    }
+
+    private synchronized void store(Long userId, Map<LocalDate, Integer> loads, long loadGeneration) {
+        if (loadGeneration == generation) {
+            loadsByUser.put(userId, loads);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package alexspeal.service;
+
+import alexspeal.entities.UserEntity;
+import alexspeal.helpers.UserZones;
+import alexspeal.repositories.UserDailyLoadRepository;
+import alexspeal.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+
+@Service
+@RequiredArgsConstructor
+public class DailyLoadTxService {
+
+    private final UserDailyLoadRepository dailyLoadRepository;
+    private final UserRepository userRepository;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void refresh(Collection<Long> userIds) {
+        for (UserEntity user : userRepository.findAllById(userIds)) {
+            ZoneId zone = UserZones.resolve(user.getTimezone());
+            LocalDate from = LocalDate.now(zone).minusDays(1);
+            dailyLoadRepository.deleteFrom(user.getId(), from);
+            dailyLoadRepository.insertAggregatedFrom(user.getId(), zone.getId(), from);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package alexspeal.service;
+
+import alexspeal.dto.EventDto;
+import alexspeal.entities.EventEntity;
+import alexspeal.entities.EventParticipantEntity;
+import alexspeal.enums.AcceptStatusEvent;
+import alexspeal.enums.AcceptStatusParticipant;
+import alexspeal.enums.ErrorMessage;
+import alexspeal.mappers.MeetingMapper;
+import alexspeal.models.CalendarChangedEvent;
+import alexspeal.models.PlannedRelocation;
+import alexspeal.models.RelocationPlan;
+import alexspeal.repositories.MeetingParticipantRepository;
+import alexspeal.repositories.MeetingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class EventScheduleTxService {
+
+    private final MeetingRepository meetingRepository;
+    private final MeetingParticipantRepository meetingParticipantRepository;
+    private final MeetingMapper meetingMapper;
+    private final RelocationPlanService relocationPlanService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Applies a precomputed relocation plan and fixes the meeting time. Returns {@code null} and rolls
+     * back when the author's calendar changed after the plan was computed.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public EventDto schedule(Long eventId, OffsetDateTime startUtc, RelocationPlan plan) {
+        if (!relocationPlanService.isCurrent(plan)) {
+            return null;
+        }
+
+        if (meetingRepository.moveEventStartTimes(plan.relocations()) != plan.relocations().size()) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return null;
+        }
+
+        EventEntity event = meetingRepository.findById(eventId)
+                .orElseThrow(() -> new NoSuchElementException(ErrorMessage.MEETING_NOT_FOUND.getMessage()));
+        OffsetDateTime meetingEnd = startUtc.plusMinutes(event.getDuration());
+
+        List<EventParticipantEntity> participants = meetingParticipantRepository
+                .findByEventId(eventId)
+                .stream()
+                .filter(p -> !p.getUser().getId().equals(event.getAuthor().getId()))
+                .toList();
+
+        List<Long> participantUserIds = participants.stream()
+                .map(participant -> participant.getUser().getId())
+                .toList();
+        Set<Long> busyUserIds = participantUserIds.isEmpty()
+                ? Set.of()
+                : Set.copyOf(meetingRepository.findUserIdsBusyBetween(participantUserIds, eventId, startUtc, meetingEnd));
+
+        for (EventParticipantEntity participant : participants) {
+            Long userId = participant.getUser().getId();
+
+            String participantTz = participant.getUser().getTimezone();
+            ZoneId participantZone = (participantTz != null && !participantTz.isBlank())
+                    ? ZoneId.of(participantTz) : ZoneOffset.UTC;
+            LocalDate participantLocalDate = startUtc.atZoneSameInstant(participantZone).toLocalDate();
+
+            boolean selectedDay = participant.getSelectedDays().contains(participantLocalDate);
+
+            if (!selectedDay) {
+                participant.setStatus(AcceptStatusParticipant.INABILITY);
+                continue;
+            }
+
+            if (busyUserIds.contains(userId)) {
+                participant.setStatus(AcceptStatusParticipant.INABILITY);
+            }
+        }
+
+        meetingParticipantRepository.saveAll(participants);
+        meetingRepository.updateEventStartTimeAndStatus(eventId, startUtc, AcceptStatusEvent.ACCEPTED);
+        meetingRepository.refreshParticipantBusyRanges(Stream.concat(
+                        Stream.of(eventId),
+                        plan.relocations().stream().map(PlannedRelocation::eventId))
+                .toList());
+
+        event.setStartTime(startUtc);
+        event.setStatus(AcceptStatusEvent.ACCEPTED);
+
+        Set<Long> affectedUserIds = Stream.concat(
+                        Stream.of(event.getAuthor().getId()),
+                        participants.stream().map(participant -> participant.getUser().getId()))
+                .collect(Collectors.toSet());
+        eventPublisher.publishEvent(new CalendarChangedEvent(eventId, affectedUserIds));
+
+        return meetingMapper.toEventDto(event);
+    }
+}
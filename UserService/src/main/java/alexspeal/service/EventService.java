@@ -1,10 +1,10 @@
 package alexspeal.service;
 
-import alexspeal.dto.BusyIntervalDto;
 import alexspeal.dto.EventDto;
 import alexspeal.dto.requests.AcceptMeetingRequest;
 import alexspeal.dto.requests.CreatingMeetingRequest;
-import alexspeal.entities.DayEntity;
+import alexspeal.dto.responses.GetAllUserEventsResponse;
+import alexspeal.dto.responses.RelocationPreviewResponse;
 import alexspeal.entities.EventEntity;
 import alexspeal.entities.EventParticipantEntity;
 import alexspeal.entities.UserEntity;
@@ -12,40 +12,55 @@ import alexspeal.enums.AcceptStatusEvent;
 import alexspeal.enums.AcceptStatusParticipant;
 import alexspeal.enums.ErrorMessage;
 import alexspeal.enums.SortOption;
+import alexspeal.exceptions.SchedulingConflictException;
+import alexspeal.helpers.BusyRangeConflicts;
 import alexspeal.mappers.MeetingMapper;
+import alexspeal.models.CalendarChangedEvent;
+import alexspeal.models.EventPageCursor;
 import alexspeal.models.Participant;
-import alexspeal.repositories.DayRepository;
+import alexspeal.models.ParticipantResponseChangedEvent;
+import alexspeal.models.RelocationPlan;
 import alexspeal.repositories.MeetingParticipantRepository;
 import alexspeal.repositories.MeetingRepository;
 import alexspeal.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Base64;
 import java.util.List;
-import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class EventService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String CURSOR_SEPARATOR = ":";
+
     private final MeetingRepository meetingRepository;
     private final UserRepository userRepository;
     private final MeetingParticipantRepository meetingParticipantRepository;
-    private final DayRepository dayRepository;
     private final MeetingMapper meetingMapper;
-    private final PersonalEventOptimizer personalEventOptimizer;
-
+    private final RelocationPlanService relocationPlanService;
+    private final EventScheduleTxService eventScheduleTxService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public EventDto getEventById(Long id) {
         return meetingRepository.findById(id)
@@ -54,38 +69,75 @@ public class EventService {
     }
 
     @Transactional(readOnly = true)
-    public List<EventDto> getAllUserEvents(Long id, SortOption sortOption) {
-        List<EventEntity> eventList = meetingRepository.getAllUserEvents(id);
-        if (eventList == null || eventList.isEmpty()) {
-            return List.of();
+    public GetAllUserEventsResponse getUserEventsPage(Long userId,
+                                                      SortOption sortOption,
+                                                      String cursor,
+                                                      Integer limit,
+                                                      OffsetDateTime from,
+                                                      OffsetDateTime to) {
+        if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) {
+            throw new IllegalArgumentException(ErrorMessage.INVALID_PAGE_LIMIT.getMessage(MAX_PAGE_SIZE));
         }
-        List<EventDto> eventDtoList = eventList.stream()
-                .map(meetingMapper::toEventDto)
-                .collect(Collectors.toCollection(ArrayList::new));
-
-        Comparator<EventDto> comparator = switch (sortOption) {
-            case DATE -> Comparator
-                    .comparing(EventDto::startTime, Comparator.nullsLast(Comparator.naturalOrder()))
-                    .thenComparing(EventDto::createdAt, Comparator.nullsLast(Comparator.naturalOrder()));
-            case TITLE -> Comparator
-                    .comparing(EventDto::title, Comparator.nullsLast(Comparator.naturalOrder()));
-            case STATUS -> Comparator
-                    .comparing(EventDto::status, Comparator.nullsLast(Comparator.naturalOrder()));
-        };
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException(ErrorMessage.INVALID_TIME_RANGE.getMessage());
+        }
+        EventPageCursor after = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor, sortOption);
+
+        if (limit == null && after == null) {
+            List<EventEntity> events = meetingRepository.findUserEventPage(userId, sortOption, null, from, to, null);
+            return new GetAllUserEventsResponse(meetingMapper.toEventDtos(events), null);
+        }
+
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        List<EventEntity> events = meetingRepository.findUserEventPage(userId, sortOption, after, from, to, pageSize + 1);
+        boolean hasMore = events.size() > pageSize;
+        List<EventEntity> page = hasMore ? events.subList(0, pageSize) : events;
 
-        eventDtoList.sort(comparator);
-        return eventDtoList;
+        String nextCursor = hasMore ? encodeCursor(sortOption, page.get(page.size() - 1)) : null;
+        return new GetAllUserEventsResponse(meetingMapper.toEventDtos(page), nextCursor);
     }
 
-    @Transactional
-    public EventDto scheduleEvent(Long eventId, OffsetDateTime startTime) {
+    public RelocationPreviewResponse previewSchedule(Long eventId, OffsetDateTime startTime) {
+        EventEntity event = meetingRepository.findById(eventId)
+                .orElseThrow(() -> new NoSuchElementException(ErrorMessage.MEETING_NOT_FOUND.getMessage()));
+        OffsetDateTime startUtc = validateScheduleTime(event, startTime);
+
+        RelocationPlan plan = relocationPlanService.preview(event, startUtc);
+        return new RelocationPreviewResponse(plan.id(), plan.meetingId(), plan.startTime(),
+                plan.relocations(), plan.expiresAt());
+    }
+
+    public EventDto scheduleEvent(Long eventId, OffsetDateTime startTime, UUID planId) {
         EventEntity event = meetingRepository.findById(eventId)
                 .orElseThrow(() -> new NoSuchElementException(ErrorMessage.MEETING_NOT_FOUND.getMessage()));
+        OffsetDateTime startUtc = validateScheduleTime(event, startTime);
+
+        RelocationPlan plan = relocationPlanService.take(planId, eventId, startUtc);
+        if (plan == null) {
+            plan = relocationPlanService.plan(event, startUtc);
+        }
 
-        int duration = event.getDuration();
+        EventDto scheduled = scheduleInTx(eventId, startUtc, plan);
+        if (scheduled == null) {
+            scheduled = scheduleInTx(eventId, startUtc, relocationPlanService.plan(event, startUtc));
+        }
+        if (scheduled == null) {
+            throw new SchedulingConflictException(ErrorMessage.RELOCATION_PLAN_STALE.getMessage());
+        }
+        return scheduled;
+    }
+
+    private EventDto scheduleInTx(Long eventId, OffsetDateTime startUtc, RelocationPlan plan) {
+        try {
+            return eventScheduleTxService.schedule(eventId, startUtc, plan);
+        } catch (DataIntegrityViolationException e) {
+            throw toBusyRangeConflict(e);
+        }
+    }
 
+    private OffsetDateTime validateScheduleTime(EventEntity event, OffsetDateTime startTime) {
         EventParticipantEntity authorParticipant = meetingParticipantRepository
-                .findByEventIdAndUserId(eventId, event.getAuthor().getId())
+                .findByEventIdAndUserId(event.getId(), event.getAuthor().getId())
                 .orElseThrow(() -> new IllegalStateException(ErrorMessage.NOT_FOUND_AUTHOR.getMessage()));
 
         String authorTz = event.getAuthor().getTimezone();
@@ -93,79 +145,15 @@ public class EventService {
                 ? ZoneId.of(authorTz) : ZoneOffset.UTC;
         LocalDate scheduledDate = startTime.atZoneSameInstant(authorZone).toLocalDate();
 
-        List<LocalDate> possibleDays = authorParticipant.getDays()
-                .stream()
-                .map(DayEntity::getDate)
-                .toList();
+        List<LocalDate> possibleDays = authorParticipant.getSelectedDays();
 
         if (possibleDays.isEmpty() || !possibleDays.contains(scheduledDate)) {
             throw new IllegalArgumentException(ErrorMessage.DATE_IS_NOT_INCLUDED.getMessage(scheduledDate));
         }
 
-        OffsetDateTime startUtc = startTime.withOffsetSameInstant(ZoneOffset.UTC);
-        OffsetDateTime meetingEnd = startUtc.plusMinutes(duration);
-
-        if (Boolean.TRUE.equals(event.getIsPersonal())) {
-            Map<EventEntity, OffsetDateTime> relocations = personalEventOptimizer
-                    .planRelocations(event.getAuthor(), eventId, startUtc, duration);
-
-            for (Map.Entry<EventEntity, OffsetDateTime> entry : relocations.entrySet()) {
-                EventEntity moved = entry.getKey();
-                OffsetDateTime newStart = entry.getValue();
-                meetingRepository.updateEventStartTime(moved.getId(), newStart);
-                moved.setStartTime(newStart);
-            }
-        }
-
-        OffsetDateTime fetchFrom = startUtc.toLocalDate().atStartOfDay().atOffset(ZoneOffset.UTC);
-        OffsetDateTime fetchTo = fetchFrom.plusDays(2);
-
-        List<EventParticipantEntity> participants = meetingParticipantRepository
-                .findByEventId(eventId)
-                .stream()
-                .filter(p -> !p.getUser().getId().equals(event.getAuthor().getId()))
-                .toList();
-
-        for (EventParticipantEntity participant : participants) {
-            Long userId = participant.getUser().getId();
-
-            String participantTz = participant.getUser().getTimezone();
-            ZoneId participantZone = (participantTz != null && !participantTz.isBlank())
-                    ? ZoneId.of(participantTz) : ZoneOffset.UTC;
-            LocalDate participantLocalDate = startUtc.atZoneSameInstant(participantZone).toLocalDate();
-
-            boolean selectedDay = participant.getDays().stream()
-                    .anyMatch(day -> day.getDate().equals(participantLocalDate));
-
-            if (!selectedDay) {
-                participant.setStatus(AcceptStatusParticipant.INABILITY);
-                continue;
-            }
-
-            List<BusyIntervalDto> busyIntervals = meetingRepository
-                    .getBusyIntervals(userId, fetchFrom, fetchTo);
-
-            boolean overlaps = busyIntervals.stream().anyMatch(interval -> {
-                OffsetDateTime busyStart = interval.startTime().withOffsetSameInstant(ZoneOffset.UTC);
-                OffsetDateTime busyEnd = busyStart.plusMinutes(interval.duration());
-                return !meetingEnd.isBefore(busyStart) && !startUtc.isAfter(busyEnd);
-            });
-
-            if (overlaps) {
-                participant.setStatus(AcceptStatusParticipant.INABILITY);
-            }
-        }
-
-        meetingParticipantRepository.saveAll(participants);
-        meetingRepository.updateEventStartTimeAndStatus(eventId, startUtc, AcceptStatusEvent.ACCEPTED);
-
-        event.setStartTime(startUtc);
-        event.setStatus(AcceptStatusEvent.ACCEPTED);
-
-        return meetingMapper.toEventDto(event);
+        return startTime.withOffsetSameInstant(ZoneOffset.UTC);
     }
 
-
     @Transactional
     public EventDto createEvent(UserEntity author, CreatingMeetingRequest meeting) {
         validateDates(meeting.possibleDays());
@@ -191,28 +179,36 @@ public class EventService {
         );
         eventEntity = meetingRepository.save(eventEntity);
 
-        EventParticipantEntity authorParticipant = meetingParticipantRepository.save(
-                new EventParticipantEntity(
-                        eventEntity,
-                        author,
-                        AcceptStatusParticipant.ACCEPTED,
-                        true
-                )
+        EventParticipantEntity authorParticipant = new EventParticipantEntity(
+                eventEntity,
+                author,
+                AcceptStatusParticipant.ACCEPTED,
+                true
         );
-
-        List<DayEntity> possibleDayEntities = createDayEntities(authorParticipant, meeting.possibleDays());
-        dayRepository.saveAll(possibleDayEntities);
+        authorParticipant.setSelectedDays(new ArrayList<>(meeting.possibleDays()));
+        meetingParticipantRepository.save(authorParticipant);
 
         if (!meeting.participants().isEmpty()) {
             addParticipantsToEvent(eventEntity, meeting.participants());
         }
 
+        Set<Long> participantUserIds = Stream.concat(
+                        Stream.of(author.getId()),
+                        meeting.participants().stream().map(Participant::userId))
+                .collect(Collectors.toSet());
+        eventPublisher.publishEvent(new CalendarChangedEvent(eventEntity.getId(), participantUserIds));
+
         return meetingMapper.toEventDto(eventEntity);
     }
 
     @Transactional
     public void deleteEvent(Long eventId) {
+        Set<Long> participantUserIds = meetingParticipantRepository.findByEventId(eventId).stream()
+                .map(participant -> participant.getUser().getId())
+                .collect(Collectors.toSet());
+
         meetingRepository.deleteById(eventId);
+        eventPublisher.publishEvent(new CalendarChangedEvent(eventId, participantUserIds));
     }
 
     @Transactional
@@ -230,26 +226,26 @@ public class EventService {
 
 
         if (acceptMeetingRequest.status() == AcceptStatusParticipant.ACCEPTED) {
-            List<LocalDate> localDates = authorParticipant.getDays()
-                    .stream()
-                    .map(DayEntity::getDate)
-                    .toList();
-
-            validateDates(acceptMeetingRequest.selectedDays(), localDates);
+            validateDates(acceptMeetingRequest.selectedDays(), authorParticipant.getSelectedDays());
             participant.setStatus(AcceptStatusParticipant.ACCEPTED);
-
-            dayRepository.deleteByEventParticipantId(participant.getId());
-
-            List<DayEntity> selectedDayEntities = createDayEntities(participant, acceptMeetingRequest.selectedDays());
+            participant.setSelectedDays(new ArrayList<>(acceptMeetingRequest.selectedDays()));
             meetingParticipantRepository.save(participant);
-            dayRepository.saveAll(selectedDayEntities);
         } else if (acceptMeetingRequest.status() == AcceptStatusParticipant.DECLINED) {
             participant.setStatus(AcceptStatusParticipant.DECLINED);
-            dayRepository.deleteByEventParticipantId(participant.getId());
+            participant.setSelectedDays(new ArrayList<>());
         } else {
             throw new IllegalArgumentException(ErrorMessage.INCORRECT_STATUS.getMessage());
         }
 
+        if (event.getStartTime() != null) {
+            try {
+                meetingRepository.refreshParticipantBusyRanges(List.of(meetingId));
+            } catch (DataIntegrityViolationException e) {
+                throw toBusyRangeConflict(e);
+            }
+            eventPublisher.publishEvent(new CalendarChangedEvent(meetingId, Set.of(user.getId())));
+        }
+        eventPublisher.publishEvent(new ParticipantResponseChangedEvent(meetingId, user.getId()));
     }
 
     private void validatePreferredWindow(LocalTime start, LocalTime end, int durationMinutes, boolean isPersonal) {
@@ -320,14 +316,43 @@ public class EventService {
         eventEntity.setEventParticipants(eventParticipants);
     }
 
-    private List<DayEntity> createDayEntities(EventParticipantEntity participant, List<LocalDate> dates) {
-        return dates.stream()
-                .map(date -> {
-                    DayEntity day = new DayEntity();
-                    day.setDate(date);
-                    day.setEventParticipant(participant);
-                    return day;
-                })
-                .toList();
+    private static RuntimeException toBusyRangeConflict(DataIntegrityViolationException e) {
+        return BusyRangeConflicts.isConflict(e)
+                ? new SchedulingConflictException(ErrorMessage.BUSY_RANGE_CONFLICT.getMessage(), e)
+                : e;
+    }
+
+    private static String encodeCursor(SortOption sortOption, EventEntity last) {
+        Object key = switch (sortOption) {
+            case DATE -> last.getStartTime() == null ? null : last.getStartTime().withOffsetSameInstant(ZoneOffset.UTC);
+            case TITLE -> last.getTitle();
+            case STATUS -> last.getStatus().name();
+        };
+        String raw = key == null
+                ? sortOption.name() + CURSOR_SEPARATOR + last.getId()
+                : sortOption.name() + CURSOR_SEPARATOR + last.getId() + CURSOR_SEPARATOR + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static EventPageCursor decodeCursor(String cursor, SortOption sortOption) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(CURSOR_SEPARATOR, 3);
+            if (parts.length < 2 || SortOption.valueOf(parts[0]) != sortOption) {
+                throw new IllegalArgumentException(ErrorMessage.INVALID_PAGE_CURSOR.getMessage());
+            }
+            Long id = Long.valueOf(parts[1]);
+            Object key = parts.length < 3 ? null : switch (sortOption) {
+                case DATE -> OffsetDateTime.parse(parts[2]);
+                case TITLE -> parts[2];
+                case STATUS -> AcceptStatusEvent.valueOf(parts[2]);
+            };
+            if (key == null && sortOption == SortOption.STATUS) {
+                throw new IllegalArgumentException(ErrorMessage.INVALID_PAGE_CURSOR.getMessage());
+            }
+            return new EventPageCursor(sortOption, key, id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException(ErrorMessage.INVALID_PAGE_CURSOR.getMessage(), e);
+        }
     }
-}
\ No newline at end of file
+}
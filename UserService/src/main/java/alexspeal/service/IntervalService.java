@@ -1,7 +1,12 @@
 package alexspeal.service;
 
+import alexspeal.helpers.EpochMinutes;
+import alexspeal.helpers.MinuteOfDay;
 import alexspeal.models.AvailabilitySegment;
+import alexspeal.models.DayAvailability;
 import alexspeal.models.Interval;
+import alexspeal.models.SlotSuggestion;
+import alexspeal.models.StartRange;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
@@ -10,11 +15,24 @@ import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
 
 @Component
 public class IntervalService {
 
+    private static final int START_STEP_MINUTES = 1;
+
+    private static final Comparator<SlotCandidate> SLOT_RANK = Comparator
+            .comparingInt(SlotCandidate::participantCount).reversed()
+            .thenComparing(Comparator.comparingInt(SlotCandidate::requiredCoverage).reversed())
+            .thenComparing(SlotCandidate::utcDate)
+            .thenComparing(SlotCandidate::start);
+
     public List<Interval> toMeetingIntervals(
             LocalDate utcDate,
             List<AvailabilitySegment> segments,
@@ -29,6 +47,139 @@ public class IntervalService {
         return result;
     }
 
+    public List<StartRange> toStartRanges(
+            LocalDate utcDate,
+            List<AvailabilitySegment> segments,
+            int durationMinutes
+    ) {
+        List<StartRange> result = new ArrayList<>(segments.size());
+
+        for (AvailabilitySegment segment : segments) {
+            long segmentLength = Duration.between(segment.start(), segment.end()).toMinutes();
+            if (segmentLength < durationMinutes) {
+                continue;
+            }
+
+            LocalTime latestStart = segment.end().minusMinutes(durationMinutes);
+            long lastStartOffset = Duration.between(segment.start(), latestStart).toMinutes()
+                    / START_STEP_MINUTES * START_STEP_MINUTES;
+
+            OffsetDateTime earliestOdt = utcDate.atTime(segment.start()).atOffset(ZoneOffset.UTC);
+            result.add(new StartRange(
+                    earliestOdt,
+                    earliestOdt.plusMinutes(lastStartOffset),
+                    START_STEP_MINUTES,
+                    segment.participantCount()
+            ));
+        }
+
+        return result;
+    }
+
+    /**
+     * Cuts {@code (start, end, count)} epoch-minute segments at UTC midnight into per-day segments
+     * that are long enough for the meeting, keeping only the given days.
+     */
+    public List<DayAvailability> toDayAvailabilities(
+            int[] segments,
+            int durationMinutes,
+            Set<LocalDate> candidateDays
+    ) {
+        Map<LocalDate, List<AvailabilitySegment>> segmentsByDay = new TreeMap<>();
+
+        for (int i = 0; i < segments.length; i += 3) {
+            int start = segments[i];
+            int end = segments[i + 1];
+            while (start < end) {
+                LocalDate utcDate = EpochMinutes.utcDate(start);
+                int dayStart = EpochMinutes.startOfUtcDay(utcDate);
+                int pieceEnd = Math.min(end, dayStart + MinuteOfDay.MINUTES_PER_DAY);
+
+                LocalTime pieceStartTime = MinuteOfDay.toLocalTime(start - dayStart);
+                LocalTime pieceEndTime = MinuteOfDay.toLocalTime(pieceEnd - dayStart);
+                if (candidateDays.contains(utcDate)
+                        && Duration.between(pieceStartTime, pieceEndTime).toMinutes() >= durationMinutes) {
+                    segmentsByDay.computeIfAbsent(utcDate, day -> new ArrayList<>())
+                            .add(new AvailabilitySegment(pieceStartTime, pieceEndTime, segments[i + 2]));
+                }
+                start = pieceEnd;
+            }
+        }
+
+        List<DayAvailability> result = new ArrayList<>(segmentsByDay.size());
+        segmentsByDay.forEach((utcDate, daySegments) -> result.add(new DayAvailability(
+                utcDate,
+                daySegments,
+                daySegments.stream().mapToInt(AvailabilitySegment::participantCount).max().orElse(0)
+        )));
+        return result;
+    }
+
+    /**
+     * Picks the {@code limit} best meeting starts: more participants first, then more required
+     * participants, then earlier start. Candidates are kept in a min-heap of size {@code limit},
+     * so at most {@code limit} starts are offered per segment and the full start list is never built.
+     */
+    public List<SlotSuggestion> topSuggestions(
+            List<DayAvailability> days,
+            int durationMinutes,
+            int requiredCoverage,
+            int limit
+    ) {
+        PriorityQueue<SlotCandidate> heap = new PriorityQueue<>(limit, SLOT_RANK.reversed());
+
+        for (DayAvailability day : days) {
+            for (AvailabilitySegment segment : day.segments()) {
+                offerSegment(heap, day.utcDate(), segment, durationMinutes, requiredCoverage, limit);
+            }
+        }
+
+        List<SlotCandidate> best = new ArrayList<>(heap);
+        best.sort(SLOT_RANK);
+
+        List<SlotSuggestion> result = new ArrayList<>(best.size());
+        for (SlotCandidate candidate : best) {
+            OffsetDateTime startOdt = candidate.utcDate().atTime(candidate.start()).atOffset(ZoneOffset.UTC);
+            result.add(new SlotSuggestion(
+                    startOdt,
+                    startOdt.plusMinutes(durationMinutes),
+                    candidate.participantCount(),
+                    candidate.requiredCoverage()
+            ));
+        }
+
+        return result;
+    }
+
+    private void offerSegment(
+            PriorityQueue<SlotCandidate> heap,
+            LocalDate utcDate,
+            AvailabilitySegment segment,
+            int durationMinutes,
+            int requiredCoverage,
+            int limit
+    ) {
+        long segmentLength = Duration.between(segment.start(), segment.end()).toMinutes();
+        if (segmentLength < durationMinutes) {
+            return;
+        }
+
+        LocalTime start = segment.start();
+        LocalTime latestStart = segment.end().minusMinutes(durationMinutes);
+
+        for (int offered = 0; offered < limit && !start.isAfter(latestStart); offered++) {
+            SlotCandidate candidate = new SlotCandidate(utcDate, start, segment.participantCount(), requiredCoverage);
+            if (heap.size() == limit) {
+                if (SLOT_RANK.compare(candidate, heap.peek()) >= 0) {
+                    return;
+                }
+                heap.poll();
+            }
+            heap.add(candidate);
+            start = start.plusMinutes(START_STEP_MINUTES);
+        }
+    }
+
     private List<Interval> expandSegmentToMeetings(
             LocalDate utcDate,
             AvailabilitySegment segment,
@@ -48,9 +199,12 @@ public class IntervalService {
             OffsetDateTime startOdt = utcDate.atTime(start).atOffset(ZoneOffset.UTC);
             OffsetDateTime endOdt = startOdt.plusMinutes(durationMinutes);
             meetings.add(new Interval(startOdt, endOdt));
-            start = start.plusMinutes(1);
+            start = start.plusMinutes(START_STEP_MINUTES);
         }
 
         return meetings;
     }
+
+    private record SlotCandidate(LocalDate utcDate, LocalTime start, int participantCount, int requiredCoverage) {
+    }
 }
@@ -0,0 +1,250 @@
+package alexspeal.service;
+
+import alexspeal.enums.AcceptStatusParticipant;
+import alexspeal.helpers.MinuteOfDay;
+import alexspeal.models.AvailabilitySegment;
+import alexspeal.models.DayAvailability;
+import alexspeal.models.MeetingAvailability;
+import alexspeal.models.ParticipantSchedule;
+import alexspeal.models.TimeInterval;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static alexspeal.helpers.MinuteOfDay.MINUTES_PER_DAY;
+
+/**
+ * Aggregated availability of one meeting: per candidate UTC day, how many accepted participants
+ * are free at every minute and how many of them are required. A participant's response is applied
+ * as a delta of that participant's own schedule, so rendering never walks the participant list.
+ */
+final class MeetingCoverage {
+
+    private final Long meetingId;
+    private final int durationMinutes;
+    private final Long authorUserId;
+    private final LocalTime rangeStart;
+    private final LocalTime rangeEnd;
+    private final boolean ignoreMovable;
+    private final List<LocalDate> days;
+    private final Map<LocalDate, List<TimeInterval>> authorWindows;
+    private final int[][] counts;
+    private final int[][] requiredCounts;
+    private final Map<Long, Contribution> contributions = new HashMap<>();
+    private final Set<Long> pendingUserIds = new HashSet<>();
+    private final Set<Long> missingRequiredUserIds = new HashSet<>();
+    private int requiredTotal;
+
+    MeetingCoverage(Long meetingId,
+                    int durationMinutes,
+                    Long authorUserId,
+                    LocalTime rangeStart,
+                    LocalTime rangeEnd,
+                    boolean ignoreMovable,
+                    ParticipantSchedule authorSchedule) {
+        this.meetingId = meetingId;
+        this.durationMinutes = durationMinutes;
+        this.authorUserId = authorUserId;
+        this.rangeStart = rangeStart;
+        this.rangeEnd = rangeEnd;
+        this.ignoreMovable = ignoreMovable;
+        this.authorWindows = authorSchedule.availability();
+        this.days = authorWindows.keySet().stream().sorted().toList();
+        this.counts = new int[days.size()][MINUTES_PER_DAY];
+        this.requiredCounts = new int[days.size()][MINUTES_PER_DAY];
+    }
+
+    Long meetingId() {
+        return meetingId;
+    }
+
+    int durationMinutes() {
+        return durationMinutes;
+    }
+
+    Long authorUserId() {
+        return authorUserId;
+    }
+
+    LocalTime rangeStart() {
+        return rangeStart;
+    }
+
+    LocalTime rangeEnd() {
+        return rangeEnd;
+    }
+
+    boolean ignoreMovable() {
+        return ignoreMovable;
+    }
+
+    int dayCount() {
+        return days.size();
+    }
+
+    synchronized boolean involvesAny(Set<Long> userIds) {
+        for (Long userId : userIds) {
+            if (contributions.containsKey(userId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Replaces everything known about the participant: status, required flag and,
+     * for an accepted participant, the schedule contributed to the counters.
+     */
+    synchronized void apply(Long userId,
+                            AcceptStatusParticipant status,
+                            boolean required,
+                            ParticipantSchedule schedule) {
+        Contribution previous = contributions.remove(userId);
+        if (previous != null) {
+            addSchedule(previous, -1);
+        }
+
+        if (status == AcceptStatusParticipant.PENDING) {
+            pendingUserIds.add(userId);
+        } else {
+            pendingUserIds.remove(userId);
+        }
+
+        if (required && status != AcceptStatusParticipant.ACCEPTED) {
+            missingRequiredUserIds.add(userId);
+        } else {
+            missingRequiredUserIds.remove(userId);
+        }
+
+        if (schedule != null) {
+            Contribution contribution = new Contribution(schedule, required);
+            contributions.put(userId, contribution);
+            addSchedule(contribution, 1);
+        }
+    }
+
+    synchronized MeetingAvailability toAvailability() {
+        boolean hasPending = !pendingUserIds.isEmpty();
+        if (!missingRequiredUserIds.isEmpty()) {
+            return new MeetingAvailability(meetingId, durationMinutes, List.of(), 0, hasPending, 0, Set.of());
+        }
+
+        List<DayAvailability> result = new ArrayList<>();
+        int maxCount = 0;
+        for (int d = 0; d < days.size(); d++) {
+            DayAvailability day = toDayAvailability(d);
+            if (day != null) {
+                result.add(day);
+                maxCount = Math.max(maxCount, day.maxCount());
+            }
+        }
+
+        return new MeetingAvailability(meetingId, durationMinutes, result, maxCount, hasPending,
+                requiredTotal, Set.copyOf(contributions.keySet()));
+    }
+
+    private void addSchedule(Contribution contribution, int delta) {
+        if (contribution.required()) {
+            requiredTotal += delta;
+        }
+
+        for (int d = 0; d < days.size(); d++) {
+            List<TimeInterval> intervals = contribution.schedule().availability().get(days.get(d));
+            if (intervals == null) {
+                continue;
+            }
+            for (TimeInterval interval : intervals) {
+                int from = MinuteOfDay.ceil(interval.start());
+                int to = MinuteOfDay.floor(interval.end());
+                for (int minute = from; minute < to; minute++) {
+                    counts[d][minute] += delta;
+                    if (contribution.required()) {
+                        requiredCounts[d][minute] += delta;
+                    }
+                }
+            }
+        }
+    }
+
+    private DayAvailability toDayAvailability(int dayIndex) {
+        boolean[] allowed = allowedMinutes(dayIndex);
+        int[] dayCounts = counts[dayIndex];
+
+        List<AvailabilitySegment> segments = new ArrayList<>();
+        int maxCount = 0;
+        int minute = 0;
+        while (minute < MINUTES_PER_DAY) {
+            int count = dayCounts[minute];
+            if (!allowed[minute] || count == 0) {
+                minute++;
+                continue;
+            }
+
+            int start = minute;
+            while (minute < MINUTES_PER_DAY && allowed[minute] && dayCounts[minute] == count) {
+                minute++;
+            }
+
+            LocalTime segmentStart = MinuteOfDay.toLocalTime(start);
+            LocalTime segmentEnd = MinuteOfDay.toLocalTime(minute);
+            if (isLongEnough(segmentStart, segmentEnd)) {
+                segments.add(new AvailabilitySegment(segmentStart, segmentEnd, count));
+                maxCount = Math.max(maxCount, count);
+            }
+        }
+
+        if (segments.isEmpty()) {
+            return null;
+        }
+        return new DayAvailability(days.get(dayIndex), segments, maxCount);
+    }
+
+    private boolean[] allowedMinutes(int dayIndex) {
+        boolean[] allowed = new boolean[MINUTES_PER_DAY];
+
+        if (requiredTotal == 0) {
+            for (TimeInterval interval : authorWindows.getOrDefault(days.get(dayIndex), List.of())) {
+                markRun(allowed, MinuteOfDay.ceil(interval.start()), MinuteOfDay.floor(interval.end()));
+            }
+            return allowed;
+        }
+
+        int[] dayRequired = requiredCounts[dayIndex];
+        int minute = 0;
+        while (minute < MINUTES_PER_DAY) {
+            if (dayRequired[minute] != requiredTotal) {
+                minute++;
+                continue;
+            }
+            int start = minute;
+            while (minute < MINUTES_PER_DAY && dayRequired[minute] == requiredTotal) {
+                minute++;
+            }
+            markRun(allowed, start, minute);
+        }
+        return allowed;
+    }
+
+    private void markRun(boolean[] allowed, int from, int to) {
+        if (!isLongEnough(MinuteOfDay.toLocalTime(from), MinuteOfDay.toLocalTime(to))) {
+            return;
+        }
+        for (int minute = from; minute < to; minute++) {
+            allowed[minute] = true;
+        }
+    }
+
+    private boolean isLongEnough(LocalTime start, LocalTime end) {
+        return Duration.between(start, end).toMinutes() >= durationMinutes;
+    }
+
+    private record Contribution(ParticipantSchedule schedule, boolean required) {
+    }
+}
@@ -0,0 +1,130 @@
+package alexspeal.service;
+
+import alexspeal.config.AvailabilityProperties;
+import alexspeal.entities.EventParticipantEntity;
+import alexspeal.enums.AcceptStatusParticipant;
+import alexspeal.models.CalendarChangedEvent;
+import alexspeal.models.MeetingAvailability;
+import alexspeal.models.ParticipantResponseChangedEvent;
+import alexspeal.models.ParticipantSchedule;
+import alexspeal.repositories.MeetingParticipantRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+
+/**
+ * Keeps {@link MeetingCoverage} per meeting. A participant response is applied as a delta;
+ * anything that changes busy time of a participant, or the meeting itself, drops the coverage
+ * so the next read rebuilds it from scratch.
+ */
+@Service
+public class MeetingCoverageService {
+
+    private static final String METRIC_NAME = "availability.incremental";
+
+    private final MeetingParticipantRepository participantRepository;
+    private final ParticipantScheduleService scheduleService;
+    private final AvailabilityCache availabilityCache;
+    private final MeterRegistry meterRegistry;
+    private final Cache<Long, MeetingCoverage> coverages;
+    private long generation;
+
+    public MeetingCoverageService(MeetingParticipantRepository participantRepository,
+                                  ParticipantScheduleService scheduleService,
+                                  AvailabilityCache availabilityCache,
+                                  AvailabilityProperties availabilityProperties,
+                                  MeterRegistry meterRegistry) {
+        this.participantRepository = participantRepository;
+        this.scheduleService = scheduleService;
+        this.availabilityCache = availabilityCache;
+        this.meterRegistry = meterRegistry;
+        AvailabilityProperties.Incremental settings = availabilityProperties.incremental();
+        this.coverages = Caffeine.newBuilder()
+                .maximumWeight(settings.maxDays())
+                .weigher((Long meetingId, MeetingCoverage coverage) -> Math.max(coverage.dayCount(), 1))
+                .expireAfterAccess(settings.ttl())
+                .build();
+    }
+
+    public MeetingAvailability find(Long meetingId) {
+        MeetingCoverage coverage = coverages.getIfPresent(meetingId);
+        return coverage == null ? null : coverage.toAvailability();
+    }
+
+    public synchronized long currentGeneration() {
+        return generation;
+    }
+
+    public synchronized void store(MeetingCoverage coverage, long loadGeneration) {
+        if (loadGeneration == generation) {
+            coverages.put(coverage.meetingId(), coverage);
+        }
+    }
+
+    public void evict(Long meetingId) {
+        bumpGeneration();
+        coverages.invalidate(meetingId);
+    }
+
+    public void record(String result) {
+        meterRegistry.counter(METRIC_NAME, "result", result).increment();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCalendarChanged(CalendarChangedEvent event) {
+        bumpGeneration();
+
+        if (event.meetingId() != null) {
+            coverages.invalidate(event.meetingId());
+        }
+
+        if (!event.userIds().isEmpty()) {
+            coverages.asMap().values().removeIf(coverage -> coverage.involvesAny(event.userIds()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onParticipantResponseChanged(ParticipantResponseChangedEvent event) {
+        bumpGeneration();
+
+        MeetingCoverage coverage = coverages.getIfPresent(event.meetingId());
+        if (coverage != null) {
+            if (applyDelta(coverage, event.userId())) {
+                record("delta");
+            } else {
+                coverages.invalidate(event.meetingId());
+            }
+        }
+
+        availabilityCache.evict(event.meetingId());
+    }
+
+    private boolean applyDelta(MeetingCoverage coverage, Long userId) {
+        if (userId.equals(coverage.authorUserId())) {
+            return false;
+        }
+
+        Optional<EventParticipantEntity> found = participantRepository
+                .findByEventIdAndUserId(coverage.meetingId(), userId);
+        if (found.isEmpty()) {
+            return false;
+        }
+
+        EventParticipantEntity participant = found.get();
+        ParticipantSchedule schedule = participant.getStatus() == AcceptStatusParticipant.ACCEPTED
+                ? scheduleService.build(participant, coverage.durationMinutes(),
+                coverage.rangeStart(), coverage.rangeEnd(), coverage.ignoreMovable())
+                : null;
+
+        coverage.apply(userId, participant.getStatus(), participant.isRequired(), schedule);
+        return true;
+    }
+
+    private synchronized void bumpGeneration() {
+        generation++;
+    }
+}
@@ -2,11 +2,13 @@ package alexspeal.service;
 
 import alexspeal.config.ApplicationConfig;
 import alexspeal.dto.BusyIntervalDto;
-import alexspeal.entities.DayEntity;
 import alexspeal.entities.EventParticipantEntity;
+import alexspeal.entities.UserEntity;
+import alexspeal.helpers.EpochMinutes;
+import alexspeal.helpers.UserZones;
 import alexspeal.models.ParticipantSchedule;
+import alexspeal.models.ParticipantTimeline;
 import alexspeal.models.TimeInterval;
-import alexspeal.repositories.MeetingRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -18,22 +20,23 @@ import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ParticipantScheduleService {
-    private final MeetingRepository meetingRepository;
+    private final BusyIntervalIndex busyIntervalIndex;
+    private final DailyLoadService dailyLoadService;
     private final TimeIntervalService intervalService;
     private final ApplicationConfig applicationConfig;
 
-    private static final String FALLBACK_TIMEZONE = "UTC";
-
     public ParticipantSchedule build(EventParticipantEntity participant, int duration) {
         return build(participant, duration, null, null, false);
     }
@@ -43,11 +46,7 @@ public class ParticipantScheduleService {
                                      LocalTime preferredRangeStart,
                                      LocalTime preferredRangeEnd,
                                      boolean ignoreMovablePersonalEvents) {
-        ZoneId zone = resolveZone(participant);
-
-        Set<LocalDate> localDays = participant.getDays().stream()
-                .map(DayEntity::getDate)
-                .collect(Collectors.toSet());
+        Set<LocalDate> localDays = selectedDays(participant);
 
         if (localDays.isEmpty()) {
             return new ParticipantSchedule(List.of(), Map.of());
@@ -56,11 +55,112 @@ public class ParticipantScheduleService {
         LocalDate minDay = localDays.stream().min(Comparator.naturalOrder()).orElseThrow();
         LocalDate maxDay = localDays.stream().max(Comparator.naturalOrder()).orElseThrow();
 
-        OffsetDateTime fetchFrom = minDay.minusDays(1).atStartOfDay(ZoneOffset.UTC).toOffsetDateTime();
-        OffsetDateTime fetchTo = maxDay.plusDays(2).atStartOfDay(ZoneOffset.UTC).toOffsetDateTime();
+        List<BusyIntervalDto> busyMeetings = busyIntervalIndex.getBusyIntervals(
+                participant.getUser().getId(), fetchFrom(minDay), fetchTo(maxDay));
+
+        Map<LocalDate, Integer> dailyLoads = participant.getUser().getDailyLoadMinutes() == null
+                ? Map.of()
+                : dailyLoadService.loadsOf(participant.getUser().getId());
+
+        return build(participant, localDays, busyMeetings, dailyLoads, duration,
+                preferredRangeStart, preferredRangeEnd, ignoreMovablePersonalEvents);
+    }
+
+    public List<ParticipantSchedule> buildAll(List<EventParticipantEntity> participants,
+                                              int duration,
+                                              LocalTime preferredRangeStart,
+                                              LocalTime preferredRangeEnd,
+                                              boolean ignoreMovablePersonalEvents) {
+        List<Set<LocalDate>> daysByParticipant = participants.stream()
+                .map(this::selectedDays)
+                .toList();
+        Map<Long, List<BusyIntervalDto>> busyByUser = loadBusyByUser(participants, daysByParticipant);
+        Map<Long, Map<LocalDate, Integer>> dailyLoadsByUser = loadDailyLoads(participants);
+
+        List<ParticipantSchedule> schedules = new ArrayList<>(participants.size());
+        for (int i = 0; i < participants.size(); i++) {
+            EventParticipantEntity participant = participants.get(i);
+            Set<LocalDate> localDays = daysByParticipant.get(i);
+
+            if (localDays.isEmpty()) {
+                schedules.add(new ParticipantSchedule(List.of(), Map.of()));
+                continue;
+            }
+
+            Long userId = participant.getUser().getId();
+            schedules.add(build(participant, localDays, busyByUser.getOrDefault(userId, List.of()),
+                    dailyLoadsByUser.getOrDefault(userId, Map.of()), duration,
+                    preferredRangeStart, preferredRangeEnd, ignoreMovablePersonalEvents));
+        }
+        return schedules;
+    }
+
+    public List<ParticipantTimeline> buildAllTimelines(List<EventParticipantEntity> participants,
+                                                       int duration,
+                                                       LocalTime preferredRangeStart,
+                                                       LocalTime preferredRangeEnd,
+                                                       boolean ignoreMovablePersonalEvents) {
+        List<Set<LocalDate>> daysByParticipant = participants.stream()
+                .map(this::selectedDays)
+                .toList();
+        Map<Long, List<BusyIntervalDto>> busyByUser = loadBusyByUser(participants, daysByParticipant);
+        Map<Long, Map<LocalDate, Integer>> dailyLoadsByUser = loadDailyLoads(participants);
+
+        List<ParticipantTimeline> timelines = new ArrayList<>(participants.size());
+        for (int i = 0; i < participants.size(); i++) {
+            EventParticipantEntity participant = participants.get(i);
+            Long userId = participant.getUser().getId();
+            timelines.add(buildTimeline(participant, daysByParticipant.get(i), busyByUser.getOrDefault(userId, List.of()),
+                    dailyLoadsByUser.getOrDefault(userId, Map.of()), duration,
+                    preferredRangeStart, preferredRangeEnd, ignoreMovablePersonalEvents));
+        }
+        return timelines;
+    }
+
+    private Map<Long, Map<LocalDate, Integer>> loadDailyLoads(List<EventParticipantEntity> participants) {
+        List<Long> limitedUserIds = participants.stream()
+                .map(EventParticipantEntity::getUser)
+                .filter(user -> user.getDailyLoadMinutes() != null)
+                .map(UserEntity::getId)
+                .distinct()
+                .toList();
+
+        return limitedUserIds.isEmpty() ? Map.of() : dailyLoadService.loadsOf(limitedUserIds);
+    }
+
+    private Map<Long, List<BusyIntervalDto>> loadBusyByUser(List<EventParticipantEntity> participants,
+                                                            List<Set<LocalDate>> daysByParticipant) {
+        Optional<LocalDate> minDay = daysByParticipant.stream()
+                .flatMap(Set::stream)
+                .min(Comparator.naturalOrder());
+        Optional<LocalDate> maxDay = daysByParticipant.stream()
+                .flatMap(Set::stream)
+                .max(Comparator.naturalOrder());
+
+        return minDay.isEmpty()
+                ? Map.of()
+                : loadBusyByUser(participants, fetchFrom(minDay.orElseThrow()), fetchTo(maxDay.orElseThrow()));
+    }
+
+    private Map<Long, List<BusyIntervalDto>> loadBusyByUser(List<EventParticipantEntity> participants,
+                                                            OffsetDateTime fetchFrom,
+                                                            OffsetDateTime fetchTo) {
+        Set<Long> userIds = participants.stream()
+                .map(participant -> participant.getUser().getId())
+                .collect(Collectors.toSet());
 
-        List<BusyIntervalDto> busyMeetings = meetingRepository.getBusyIntervals(
-                participant.getUser().getId(), fetchFrom, fetchTo);
+        return busyIntervalIndex.getBusyIntervalsByUser(userIds, fetchFrom, fetchTo);
+    }
+
+    private ParticipantSchedule build(EventParticipantEntity participant,
+                                      Set<LocalDate> localDays,
+                                      List<BusyIntervalDto> busyMeetings,
+                                      Map<LocalDate, Integer> dailyLoads,
+                                      int duration,
+                                      LocalTime preferredRangeStart,
+                                      LocalTime preferredRangeEnd,
+                                      boolean ignoreMovablePersonalEvents) {
+        ZoneId zone = UserZones.resolve(participant.getUser().getTimezone());
 
         List<BusyIntervalDto> blockingBusy = ignoreMovablePersonalEvents
                 ? busyMeetings.stream().filter(b -> !isMovablePersonal(b)).toList()
@@ -82,7 +182,7 @@ public class ParticipantScheduleService {
         }
 
         for (LocalDate localDay : localDays) {
-            if (exceedsDailyLoad(busyMeetings, localDay, zone, duration, dailyLoadMinutes)) {
+            if (exceedsDailyLoad(dailyLoads, localDay, duration, dailyLoadMinutes)) {
                 continue;
             }
 
@@ -126,6 +226,108 @@ public class ParticipantScheduleService {
         return new ParticipantSchedule(new ArrayList<>(localDays), availability);
     }
 
+    private ParticipantTimeline buildTimeline(EventParticipantEntity participant,
+                                              Set<LocalDate> localDays,
+                                              List<BusyIntervalDto> busyMeetings,
+                                              Map<LocalDate, Integer> dailyLoads,
+                                              int duration,
+                                              LocalTime preferredRangeStart,
+                                              LocalTime preferredRangeEnd,
+                                              boolean ignoreMovablePersonalEvents) {
+        List<LocalDate> sortedDays = localDays.stream().sorted().toList();
+
+        LocalTime workStart = applicationConfig.workStart();
+        LocalTime workEnd = applicationConfig.workEnd();
+        LocalTime effectiveStart = preferredRangeStart != null && preferredRangeStart.isAfter(workStart)
+                ? preferredRangeStart : workStart;
+        LocalTime effectiveEnd = preferredRangeEnd != null && preferredRangeEnd.isBefore(workEnd)
+                ? preferredRangeEnd : workEnd;
+
+        if (sortedDays.isEmpty() || !effectiveStart.isBefore(effectiveEnd)) {
+            return new ParticipantTimeline(sortedDays, new int[0]);
+        }
+
+        ZoneId zone = UserZones.resolve(participant.getUser().getTimezone());
+        Integer dailyLoadMinutes = participant.getUser().getDailyLoadMinutes();
+        int[] busy = toBusyPairs(busyMeetings, ignoreMovablePersonalEvents);
+
+        int[] free = new int[busy.length + 4 * sortedDays.size()];
+        int size = 0;
+        int next = 0;
+        for (LocalDate localDay : sortedDays) {
+            if (exceedsDailyLoad(dailyLoads, localDay, duration, dailyLoadMinutes)) {
+                continue;
+            }
+
+            int windowStart = EpochMinutes.ceil(localDay.atTime(effectiveStart).atZone(zone).toOffsetDateTime());
+            int windowEnd = EpochMinutes.floor(localDay.atTime(effectiveEnd).atZone(zone).toOffsetDateTime());
+
+            while (next < busy.length && busy[next + 1] <= windowStart) {
+                next += 2;
+            }
+
+            int cursor = windowStart;
+            for (int b = next; b < busy.length && busy[b] < windowEnd; b += 2) {
+                if (busy[b] - cursor >= duration) {
+                    free[size++] = cursor;
+                    free[size++] = busy[b];
+                }
+                cursor = busy[b + 1];
+            }
+            if (windowEnd - cursor >= duration) {
+                free[size++] = cursor;
+                free[size++] = windowEnd;
+            }
+        }
+
+        return new ParticipantTimeline(sortedDays, Arrays.copyOf(free, size));
+    }
+
+    private int[] toBusyPairs(List<BusyIntervalDto> busyMeetings, boolean ignoreMovablePersonalEvents) {
+        int[] busy = new int[busyMeetings.size() * 2];
+        int size = 0;
+        for (BusyIntervalDto dto : busyMeetings) {
+            if (ignoreMovablePersonalEvents && isMovablePersonal(dto)) {
+                continue;
+            }
+            int start = EpochMinutes.floor(dto.startTime());
+            busy[size++] = start;
+            busy[size++] = EpochMinutes.ceil(dto.startTime().plusMinutes(dto.duration()));
+        }
+
+        long[] packed = new long[size / 2];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = ((long) busy[2 * i] << 32) | (busy[2 * i + 1] & 0xFFFFFFFFL);
+        }
+        Arrays.sort(packed);
+
+        int[] merged = new int[size];
+        int mergedSize = 0;
+        for (long pair : packed) {
+            int start = (int) (pair >> 32);
+            int end = (int) pair;
+            if (mergedSize > 0 && start <= merged[mergedSize - 1]) {
+                merged[mergedSize - 1] = Math.max(merged[mergedSize - 1], end);
+            } else {
+                merged[mergedSize++] = start;
+                merged[mergedSize++] = end;
+            }
+        }
+        return Arrays.copyOf(merged, mergedSize);
+    }
+
+    private Set<LocalDate> selectedDays(EventParticipantEntity participant) {
+        return Set.copyOf(participant.getSelectedDays());
+    }
+
+    private OffsetDateTime fetchFrom(LocalDate minDay) {
+        return minDay.minusDays(1).atStartOfDay(ZoneOffset.UTC).toOffsetDateTime();
+    }
+
+    private OffsetDateTime fetchTo(LocalDate maxDay) {
+        return maxDay.plusDays(2).atStartOfDay(ZoneOffset.UTC).toOffsetDateTime();
+    }
+
     private boolean isMovablePersonal(BusyIntervalDto dto) {
         return Boolean.TRUE.equals(dto.isPersonal()) && Boolean.FALSE.equals(dto.isFixed());
     }
@@ -167,9 +369,8 @@ public class ParticipantScheduleService {
     }
 
     private boolean exceedsDailyLoad(
-            List<BusyIntervalDto> busyMeetings,
+            Map<LocalDate, Integer> dailyLoads,
             LocalDate localDay,
-            ZoneId zone,
             int newMeetingDuration,
             Integer dailyLoadMinutes
     ) {
@@ -177,38 +378,7 @@ public class ParticipantScheduleService {
             return false;
         }
 
-        OffsetDateTime dayStartUtc = localDay.atStartOfDay(zone)
-                .toOffsetDateTime().withOffsetSameInstant(ZoneOffset.UTC);
-        OffsetDateTime dayEndUtc = localDay.plusDays(1).atStartOfDay(zone)
-                .toOffsetDateTime().withOffsetSameInstant(ZoneOffset.UTC);
-
-        long existingLoad = 0L;
-        for (BusyIntervalDto dto : busyMeetings) {
-            OffsetDateTime bStart = dto.startTime().withOffsetSameInstant(ZoneOffset.UTC);
-            OffsetDateTime bEnd = bStart.plusMinutes(dto.duration());
-
-            if (!bEnd.isAfter(dayStartUtc) || !bStart.isBefore(dayEndUtc)) {
-                continue;
-            }
-
-            OffsetDateTime clipStart = bStart.isBefore(dayStartUtc) ? dayStartUtc : bStart;
-            OffsetDateTime clipEnd = bEnd.isAfter(dayEndUtc) ? dayEndUtc : bEnd;
-            existingLoad += Duration.between(clipStart, clipEnd).toMinutes();
-        }
-
-        return existingLoad + newMeetingDuration > dailyLoadMinutes;
-    }
-
-    private ZoneId resolveZone(EventParticipantEntity participant) {
-        String tz = participant.getUser().getTimezone();
-        if (tz == null || tz.isBlank()) {
-            return ZoneId.of(FALLBACK_TIMEZONE);
-        }
-        try {
-            return ZoneId.of(tz);
-        } catch (Exception e) {
-            return ZoneId.of(FALLBACK_TIMEZONE);
-        }
+        return dailyLoads.getOrDefault(localDay, 0) + newMeetingDuration > dailyLoadMinutes;
     }
 
     private LocalTime max(LocalTime a, LocalTime b) {
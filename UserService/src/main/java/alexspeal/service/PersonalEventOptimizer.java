@@ -1,40 +1,52 @@
 package alexspeal.service;
 
 import alexspeal.config.ApplicationConfig;
+import alexspeal.config.OptimizerProperties;
 import alexspeal.dto.BusyIntervalDto;
-import alexspeal.entities.DayEntity;
 import alexspeal.entities.EventEntity;
 import alexspeal.entities.EventParticipantEntity;
 import alexspeal.entities.UserEntity;
 import alexspeal.enums.ErrorMessage;
+import alexspeal.enums.SolverMode;
+import alexspeal.exceptions.SchedulingConflictException;
+import alexspeal.helpers.UserZones;
+import alexspeal.models.PlannedRelocation;
+import alexspeal.models.UserRepack;
 import alexspeal.repositories.MeetingParticipantRepository;
 import alexspeal.repositories.MeetingRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ParallelPortfolio;
 import org.chocosolver.solver.Solution;
 import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.search.SearchState;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.search.strategy.selectors.values.IntValueSelector;
+import org.chocosolver.solver.search.strategy.selectors.variables.FirstFail;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.Task;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -43,45 +55,45 @@ import java.util.stream.Collectors;
 public class PersonalEventOptimizer {
 
     private static final int SLOT_MINUTES = 5;
-    private static final String FALLBACK_TIMEZONE = "UTC";
-    private static final String SOLVER_TIME_LIMIT = "10s";
+    private static final String METRIC_NAME = "optimizer.relocation.solve";
+    private static final String TIER_MEMO = "memo";
+    private static final String TIER_EXACT = "exact";
+    private static final String TIER_GREEDY = "greedy";
+    private static final String TIER_CHOCO = "choco";
 
     private final MeetingRepository meetingRepository;
     private final MeetingParticipantRepository meetingParticipantRepository;
+    private final BusyIntervalIndex busyIntervalIndex;
     private final ApplicationConfig applicationConfig;
+    private final OptimizerProperties optimizerProperties;
+    private final MeterRegistry meterRegistry;
+    private final RelocationMemo relocationMemo;
 
     public Map<EventEntity, OffsetDateTime> planRelocations(
             UserEntity user,
             Long newEventIdOrNull,
             OffsetDateTime newStartUtc,
-            int newDurationMinutes
+            int newDurationMinutes,
+            Duration solverTimeLimit
     ) {
         OffsetDateTime newEndUtc = newStartUtc.plusMinutes(newDurationMinutes);
-        ZoneId userZone = resolveZone(user);
+        ZoneId userZone = UserZones.resolve(user.getTimezone());
 
-        OffsetDateTime fetchFrom = newStartUtc.minusDays(2);
-        OffsetDateTime fetchTo = newEndUtc.plusDays(2);
-        List<EventEntity> nearMovables = meetingRepository
-                .findUserMovablePersonalEvents(user.getId(), fetchFrom, fetchTo);
-
-        List<EventEntity> conflicts = nearMovables.stream()
+        List<EventEntity> conflicts = meetingRepository
+                .findUserMovablePersonalEventsOverlapping(user.getId(), newStartUtc, newEndUtc)
+                .stream()
                 .filter(e -> newEventIdOrNull == null || !e.getId().equals(newEventIdOrNull))
-                .filter(e -> overlaps(e, newStartUtc, newEndUtc))
                 .toList();
 
         if (conflicts.isEmpty()) {
             return Map.of();
         }
 
-        Map<Long, List<LocalDate>> possibleDaysByEvent = new java.util.HashMap<>();
+        Map<Long, List<LocalDate>> possibleDaysByEvent = loadPossibleDays(conflicts, user.getId());
         Set<LocalDate> allCandidateDays = new TreeSet<>();
-        for (EventEntity c : conflicts) {
-            List<LocalDate> days = loadPossibleDays(c, user.getId());
-            possibleDaysByEvent.put(c.getId(), days);
-            allCandidateDays.addAll(days);
-        }
+        possibleDaysByEvent.values().forEach(allCandidateDays::addAll);
         if (allCandidateDays.isEmpty()) {
-            throw new IllegalStateException(
+            throw new SchedulingConflictException(
                     ErrorMessage.RELOCATION_INFEASIBLE.getMessage(conflicts.get(0).getTitle()));
         }
 
@@ -90,7 +102,7 @@ public class PersonalEventOptimizer {
 
         OffsetDateTime windowStart = minDay.minusDays(1).atStartOfDay(ZoneOffset.UTC).toOffsetDateTime();
         OffsetDateTime windowEnd = maxDay.plusDays(2).atStartOfDay(ZoneOffset.UTC).toOffsetDateTime();
-        List<BusyIntervalDto> allBusy = meetingRepository.getBusyIntervals(user.getId(), windowStart, windowEnd);
+        List<BusyIntervalDto> allBusy = busyIntervalIndex.getBusyIntervals(user.getId(), windowStart, windowEnd);
 
         Set<Long> conflictIds = conflicts.stream().map(EventEntity::getId).collect(Collectors.toSet());
         List<long[]> blockedIntervals = new ArrayList<>();
@@ -102,6 +114,7 @@ public class PersonalEventOptimizer {
             blockedIntervals.add(new long[]{sMin, eMin});
         }
         blockedIntervals.add(new long[]{epochMinute(newStartUtc), epochMinute(newStartUtc) + newDurationMinutes});
+        BlockedIntervals blocked = BlockedIntervals.of(blockedIntervals);
 
         long epochRefMin = minDay.atStartOfDay(ZoneOffset.UTC).toEpochSecond() / 60L;
 
@@ -115,29 +128,240 @@ public class PersonalEventOptimizer {
             durations[i] = c.getDuration();
             origStarts[i] = (int) (epochMinute(c.getStartTime()) - epochRefMin);
 
-            List<Integer> domain = computeDomain(
+            domains[i] = computeDomain(
                     c, possibleDaysByEvent.get(c.getId()),
-                    userZone, blockedIntervals, epochRefMin, durations[i]);
+                    userZone, blocked, epochRefMin, Long.MIN_VALUE, durations[i]);
 
-            if (domain.isEmpty()) {
-                throw new IllegalStateException(
+            if (domains[i].length == 0) {
+                throw new SchedulingConflictException(
                         ErrorMessage.RELOCATION_INFEASIBLE.getMessage(c.getTitle()));
             }
-            domains[i] = domain.stream().mapToInt(Integer::intValue).distinct().sorted().toArray();
         }
 
-        return solveCsp(conflicts, domains, origStarts, durations, epochRefMin);
+        int[] starts = solve(user.getId(), conflicts, domains, origStarts, durations, solverTimeLimit);
+        return toPlan(conflicts, starts, origStarts, epochRefMin);
     }
 
-    private Map<EventEntity, OffsetDateTime> solveCsp(
-            List<EventEntity> conflicts,
-            int[][] domains,
-            int[] origStarts,
-            int[] durations,
-            long epochRefMin
-    ) {
+    /**
+     * Re-packs the user's movable personal events starting in {@code [from, to)}: every event is pulled
+     * towards the start of its allowed window on its current day, all of them solved together against
+     * the rest of the calendar. The current placement always stays feasible, so the result is never
+     * worse than what the user has now; an empty plan means no improvement was found. Repack problems
+     * rarely repeat, so they are solved without going through the {@link RelocationMemo}.
+     */
+    public UserRepack planRepack(UserEntity user, OffsetDateTime from, OffsetDateTime to, Duration timeLimit) {
+        ZoneId userZone = UserZones.resolve(user.getTimezone());
+        List<EventEntity> movables = meetingRepository.findUserMovablePersonalEvents(user.getId(), from, to);
+        if (movables.isEmpty()) {
+            return new UserRepack(user.getId(), List.of(), 0);
+        }
+
+        Map<Long, List<LocalDate>> possibleDaysByEvent = loadPossibleDays(movables, user.getId());
+        TreeSet<LocalDate> allDays = new TreeSet<>();
+        for (EventEntity e : movables) {
+            allDays.addAll(possibleDaysByEvent.get(e.getId()));
+            allDays.add(e.getStartTime().atZoneSameInstant(userZone).toLocalDate());
+        }
+
+        LocalDate minDay = allDays.first();
+        LocalDate maxDay = allDays.last();
+        OffsetDateTime windowStart = minDay.minusDays(1).atStartOfDay(ZoneOffset.UTC).toOffsetDateTime();
+        OffsetDateTime windowEnd = maxDay.plusDays(2).atStartOfDay(ZoneOffset.UTC).toOffsetDateTime();
+
+        Set<Long> movableIds = movables.stream().map(EventEntity::getId).collect(Collectors.toSet());
+        List<long[]> blockedIntervals = new ArrayList<>();
+        for (BusyIntervalDto b : busyIntervalIndex.getBusyIntervals(user.getId(), windowStart, windowEnd)) {
+            if (movableIds.contains(b.eventId())) continue;
+            long sMin = epochMinute(b.startTime());
+            blockedIntervals.add(new long[]{sMin, sMin + b.duration()});
+        }
+        BlockedIntervals blocked = BlockedIntervals.of(blockedIntervals);
+
+        long epochRefMin = minDay.atStartOfDay(ZoneOffset.UTC).toEpochSecond() / 60L;
+        long notBeforeMin = epochMinute(from);
+
+        int n = movables.size();
+        int[][] domains = new int[n][];
+        int[] currentStarts = new int[n];
+        int[] targets = new int[n];
+        int[] durations = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            EventEntity e = movables.get(i);
+            durations[i] = e.getDuration();
+            currentStarts[i] = (int) (epochMinute(e.getStartTime()) - epochRefMin);
+            LocalDate currentDay = e.getStartTime().atZoneSameInstant(userZone).toLocalDate();
+            targets[i] = (int) (currentDay.atTime(effectiveStart(e)).atZone(userZone).toEpochSecond() / 60L
+                    - epochRefMin);
+
+            int[] domain = computeDomain(e, possibleDaysByEvent.get(e.getId()),
+                    userZone, blocked, epochRefMin, notBeforeMin, durations[i]);
+            domains[i] = withValue(domain, currentStarts[i]);
+        }
+
+        int[] starts = solveTiered(movables, domains, targets, durations, timeLimit, System.nanoTime()).starts();
+        long before = RelocationHeuristics.displacement(currentStarts, targets);
+        long after = RelocationHeuristics.displacement(starts, targets);
+        if (after >= before) {
+            return new UserRepack(user.getId(), List.of(), 0);
+        }
+
+        List<PlannedRelocation> relocations = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (starts[i] != currentStarts[i]) {
+                EventEntity e = movables.get(i);
+                OffsetDateTime newStart = OffsetDateTime.ofInstant(
+                        Instant.ofEpochSecond((epochRefMin + starts[i]) * 60L), ZoneOffset.UTC);
+                relocations.add(new PlannedRelocation(e.getId(), e.getTitle(), e.getStartTime(), newStart));
+            }
+        }
+        return new UserRepack(user.getId(), relocations, before - after);
+    }
+
+    private int[] solve(Long userId,
+                        List<EventEntity> conflicts,
+                        int[][] domains,
+                        int[] origStarts,
+                        int[] durations,
+                        Duration timeLimit) {
+        long startedAt = System.nanoTime();
+        int[] memoized = relocationMemo.find(userId, domains, origStarts, durations);
+        if (memoized != null) {
+            record(TIER_MEMO, startedAt);
+            return memoized;
+        }
+
+        long memoGeneration = relocationMemo.currentGeneration();
+        TieredSolution solution = solveTiered(conflicts, domains, origStarts, durations, timeLimit, startedAt);
+        if (solution.optimal()) {
+            relocationMemo.store(userId, domains, origStarts, durations, solution.starts(), memoGeneration);
+        }
+        return solution.starts();
+    }
+
+    private TieredSolution solveTiered(List<EventEntity> conflicts,
+                                       int[][] domains,
+                                       int[] origStarts,
+                                       int[] durations,
+                                       Duration timeLimit,
+                                       long startedAt) {
         int n = conflicts.size();
 
+        if (n <= RelocationHeuristics.EXACT_MAX_CONFLICTS) {
+            int[] starts = RelocationHeuristics.exact(domains, origStarts, durations);
+            record(TIER_EXACT, startedAt);
+            return new TieredSolution(requireFeasible(starts, conflicts), true);
+        }
+
+        int[] greedy = n <= optimizerProperties.greedyMaxConflicts()
+                ? RelocationHeuristics.greedy(domains, origStarts, durations)
+                : null;
+        if (greedy != null && RelocationHeuristics.displacement(greedy, origStarts)
+                == RelocationHeuristics.lowerBound(domains, origStarts)) {
+            record(TIER_GREEDY, startedAt);
+            return new TieredSolution(greedy, true);
+        }
+
+        Long upperBound = greedy == null ? null : RelocationHeuristics.displacement(greedy, origStarts);
+        CspSolution csp = solveCsp(domains, origStarts, durations, upperBound, timeLimit);
+        if (csp.starts() == null && greedy != null) {
+            record(TIER_GREEDY, startedAt);
+            return new TieredSolution(greedy, csp.complete());
+        }
+        record(TIER_CHOCO, startedAt);
+        return new TieredSolution(requireFeasible(csp.starts(), conflicts), csp.complete());
+    }
+
+    private CspSolution solveCsp(int[][] domains,
+                                 int[] origStarts,
+                                 int[] durations,
+                                 Long upperBound,
+                                 Duration timeLimit) {
+        if (optimizerProperties.solverMode() == SolverMode.PORTFOLIO) {
+            return solvePortfolio(domains, origStarts, durations, upperBound, timeLimit);
+        }
+
+        RelocationModel relocation = buildModel(domains, origStarts, durations, upperBound);
+        Solver solver = relocation.model().getSolver();
+        solver.limitTime(timeLimit.toMillis());
+
+        Solution sol = solver.findOptimalSolution(relocation.total(), false);
+        boolean complete = solver.getSearchState() == SearchState.TERMINATED;
+        if (sol == null) {
+            return new CspSolution(null, complete);
+        }
+
+        int[] result = new int[domains.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = sol.getIntVal(relocation.starts()[i]);
+        }
+        return new CspSolution(result, complete);
+    }
+
+    /**
+     * Runs differently configured searches over copies of the model at the same time. The workers share
+     * the objective bound; the first one to prove optimality, or the deadline, stops the others. The
+     * number of workers is {@link SolverMode#getThreads()}, which sizes the solver pools. The search is
+     * complete only when a worker terminated on its own rather than being stopped.
+     */
+    private CspSolution solvePortfolio(int[][] domains,
+                                 int[] origStarts,
+                                 int[] durations,
+                                 Long upperBound,
+                                 Duration timeLimit) {
+        RelocationModel byWeightedDegree = buildModel(domains, origStarts, durations, upperBound);
+        byWeightedDegree.model().getSolver().setSearch(Search.domOverWDegSearch(byWeightedDegree.starts()));
+
+        RelocationModel byActivity = buildModel(domains, origStarts, durations, upperBound);
+        byActivity.model().getSolver().setSearch(Search.activityBasedSearch(byActivity.starts()));
+
+        RelocationModel byDisplacement = buildModel(domains, origStarts, durations, upperBound);
+        byDisplacement.model().getSolver().setSearch(Search.intVarSearch(
+                new FirstFail(byDisplacement.model()),
+                nearestToOriginal(byDisplacement.starts(), origStarts),
+                byDisplacement.starts()));
+
+        List<RelocationModel> workers = List.of(byWeightedDegree, byActivity, byDisplacement);
+        ParallelPortfolio portfolio = new ParallelPortfolio(false);
+        for (RelocationModel worker : workers) {
+            worker.model().setObjective(Model.MINIMIZE, worker.total());
+            worker.model().getSolver().makeCompleteStrategy(true);
+            worker.model().getSolver().limitTime(timeLimit.toMillis());
+            portfolio.addModel(worker.model());
+        }
+
+        int[] best = null;
+        while (portfolio.solve()) {
+            Model bestModel = portfolio.getBestModel();
+            for (RelocationModel worker : workers) {
+                if (worker.model() == bestModel) {
+                    best = Arrays.stream(worker.starts()).mapToInt(IntVar::getValue).toArray();
+                }
+            }
+        }
+        boolean complete = workers.stream()
+                .anyMatch(worker -> worker.model().getSolver().getSearchState() == SearchState.TERMINATED);
+        return new CspSolution(best, complete);
+    }
+
+    private static IntValueSelector nearestToOriginal(IntVar[] starts, int[] origStarts) {
+        Map<IntVar, Integer> origByVar = new HashMap<>();
+        for (int i = 0; i < starts.length; i++) {
+            origByVar.put(starts[i], origStarts[i]);
+        }
+        return var -> {
+            int orig = origByVar.get(var);
+            int above = var.nextValue(orig - 1);
+            int below = var.previousValue(orig);
+            if (above == Integer.MAX_VALUE) return below;
+            if (below == Integer.MIN_VALUE) return above;
+            return orig - below <= above - orig ? below : above;
+        };
+    }
+
+    private RelocationModel buildModel(int[][] domains, int[] origStarts, int[] durations, Long upperBound) {
+        int n = domains.length;
+
         Model model = new Model("personal-event-relocation");
         IntVar[] starts = new IntVar[n];
         IntVar[] heights = new IntVar[n];
@@ -168,19 +392,33 @@ public class PersonalEventOptimizer {
 
         IntVar total = model.intVar("total", 0, n * maxAbsDiff);
         model.sum(absDiffs, "=", total).post();
+        if (upperBound != null) {
+            model.arithm(total, "<", (int) Math.min(upperBound, Integer.MAX_VALUE)).post();
+        }
+        return new RelocationModel(model, starts, total);
+    }
 
-        Solver solver = model.getSolver();
-        solver.limitTime(SOLVER_TIME_LIMIT);
-
-        Solution sol = solver.findOptimalSolution(total, false);
-        if (sol == null) {
+    private int[] requireFeasible(int[] starts, List<EventEntity> conflicts) {
+        if (starts == null) {
             String firstTitle = conflicts.get(0).getTitle();
-            throw new IllegalStateException(ErrorMessage.RELOCATION_INFEASIBLE.getMessage(firstTitle));
+            throw new SchedulingConflictException(ErrorMessage.RELOCATION_INFEASIBLE.getMessage(firstTitle));
         }
+        return starts;
+    }
+
+    private void record(String tier, long startedAt) {
+        meterRegistry.timer(METRIC_NAME, "tier", tier).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
 
+    private Map<EventEntity, OffsetDateTime> toPlan(
+            List<EventEntity> conflicts,
+            int[] starts,
+            int[] origStarts,
+            long epochRefMin
+    ) {
         Map<EventEntity, OffsetDateTime> plan = new LinkedHashMap<>();
-        for (int i = 0; i < n; i++) {
-            int newOffset = sol.getIntVal(starts[i]);
+        for (int i = 0; i < conflicts.size(); i++) {
+            int newOffset = starts[i];
             if (newOffset == origStarts[i]) {
                 continue;
             }
@@ -190,99 +428,170 @@ public class PersonalEventOptimizer {
             plan.put(conflicts.get(i), newStart);
         }
 
-        log.info("Planned {} relocations (totalDisplacement={})", plan.size(), sol.getIntVal(total));
+        log.info("Planned {} relocations (totalDisplacement={})",
+                plan.size(), RelocationHeuristics.displacement(starts, origStarts));
         return plan;
     }
 
-    private List<Integer> computeDomain(
+    private int[] computeDomain(
             EventEntity event,
             List<LocalDate> possibleDays,
             ZoneId userZone,
-            List<long[]> blockedIntervals,
+            BlockedIntervals blocked,
             long epochRefMin,
+            long notBeforeMin,
             int duration
     ) {
-        LocalTime workStart = applicationConfig.workStart();
-        LocalTime workEnd = applicationConfig.workEnd();
-        LocalTime preferredStart = event.getPreferredWindowStart();
-        LocalTime preferredEnd = event.getPreferredWindowEnd();
-        LocalTime effStart = (preferredStart != null && preferredStart.isAfter(workStart)) ? preferredStart : workStart;
-        LocalTime effEnd = (preferredEnd != null && preferredEnd.isBefore(workEnd)) ? preferredEnd : workEnd;
+        LocalTime effStart = effectiveStart(event);
+        LocalTime effEnd = effectiveEnd(event);
 
         if (!effStart.isBefore(effEnd)) {
-            return List.of();
+            return new int[0];
         }
 
-        Set<Integer> domain = new HashSet<>();
+        SlotBuffer domain = new SlotBuffer();
         for (LocalDate d : possibleDays) {
-            ZonedDateTime startZ = d.atTime(effStart).atZone(userZone);
-            ZonedDateTime endZ = d.atTime(effEnd).atZone(userZone);
-            long startMin = startZ.toEpochSecond() / 60L;
-            long endMin = endZ.toEpochSecond() / 60L;
-
-            for (long[] free : subtractBlocked(startMin, endMin, blockedIntervals)) {
-                long fs = free[0];
-                long fe = free[1];
-                long aligned = ((fs + SLOT_MINUTES - 1) / SLOT_MINUTES) * SLOT_MINUTES;
-                while (aligned + duration <= fe) {
-                    domain.add((int) (aligned - epochRefMin));
-                    aligned += SLOT_MINUTES;
-                }
+            long startMin = Math.max(d.atTime(effStart).atZone(userZone).toEpochSecond() / 60L, notBeforeMin);
+            long endMin = d.atTime(effEnd).atZone(userZone).toEpochSecond() / 60L;
+
+            long cursor = startMin;
+            for (int b = blocked.firstEndingAfter(startMin); b < blocked.size() && blocked.start(b) < endMin; b++) {
+                domain.addSlots(cursor, blocked.start(b), duration, epochRefMin);
+                cursor = Math.max(cursor, blocked.end(b));
             }
+            domain.addSlots(cursor, endMin, duration, epochRefMin);
         }
-        return new ArrayList<>(domain);
+        return domain.toArray();
     }
 
-    private List<long[]> subtractBlocked(long start, long end, List<long[]> blocks) {
-        List<long[]> clipped = blocks.stream()
-                .filter(b -> b[1] > start && b[0] < end)
-                .map(b -> new long[]{Math.max(b[0], start), Math.min(b[1], end)})
-                .sorted(Comparator.comparingLong(b -> b[0]))
-                .toList();
+    private LocalTime effectiveStart(EventEntity event) {
+        LocalTime workStart = applicationConfig.workStart();
+        LocalTime preferredStart = event.getPreferredWindowStart();
+        return (preferredStart != null && preferredStart.isAfter(workStart)) ? preferredStart : workStart;
+    }
 
-        List<long[]> result = new ArrayList<>();
-        long cursor = start;
-        for (long[] b : clipped) {
-            if (b[0] > cursor) {
-                result.add(new long[]{cursor, b[0]});
-            }
-            cursor = Math.max(cursor, b[1]);
-        }
-        if (cursor < end) {
-            result.add(new long[]{cursor, end});
-        }
-        return result;
+    private LocalTime effectiveEnd(EventEntity event) {
+        LocalTime workEnd = applicationConfig.workEnd();
+        LocalTime preferredEnd = event.getPreferredWindowEnd();
+        return (preferredEnd != null && preferredEnd.isBefore(workEnd)) ? preferredEnd : workEnd;
     }
 
-    private List<LocalDate> loadPossibleDays(EventEntity event, Long userId) {
-        EventParticipantEntity authorPart = meetingParticipantRepository
-                .findByEventIdAndUserId(event.getId(), userId)
-                .orElseThrow(() -> new NoSuchElementException(
-                        ErrorMessage.NOT_FOUND_AUTHOR.getMessage()));
-        return authorPart.getDays().stream()
-                .map(DayEntity::getDate)
-                .sorted()
-                .toList();
+    private static int[] withValue(int[] domain, int value) {
+        int index = Arrays.binarySearch(domain, value);
+        if (index >= 0) {
+            return domain;
+        }
+        int insertAt = -index - 1;
+        int[] result = new int[domain.length + 1];
+        System.arraycopy(domain, 0, result, 0, insertAt);
+        result[insertAt] = value;
+        System.arraycopy(domain, insertAt, result, insertAt + 1, domain.length - insertAt);
+        return result;
     }
 
-    private boolean overlaps(EventEntity e, OffsetDateTime newStart, OffsetDateTime newEnd) {
-        OffsetDateTime eStart = e.getStartTime();
-        if (eStart == null) return false;
-        OffsetDateTime eEnd = eStart.plusMinutes(e.getDuration());
-        return eEnd.isAfter(newStart) && eStart.isBefore(newEnd);
+    private Map<Long, List<LocalDate>> loadPossibleDays(List<EventEntity> events, Long userId) {
+        Set<Long> eventIds = events.stream().map(EventEntity::getId).collect(Collectors.toSet());
+        Map<Long, List<LocalDate>> daysByEvent = new HashMap<>();
+        for (EventParticipantEntity authorPart : meetingParticipantRepository
+                .findByUserIdAndEventIds(userId, eventIds)) {
+            daysByEvent.put(authorPart.getEvent().getId(), authorPart.getSelectedDays().stream()
+                    .sorted()
+                    .toList());
+        }
+        if (daysByEvent.size() != eventIds.size()) {
+            throw new NoSuchElementException(ErrorMessage.NOT_FOUND_AUTHOR.getMessage());
+        }
+        return daysByEvent;
     }
 
     private long epochMinute(OffsetDateTime odt) {
         return odt.toEpochSecond() / 60L;
     }
 
-    private ZoneId resolveZone(UserEntity user) {
-        String tz = user.getTimezone();
-        if (tz == null || tz.isBlank()) return ZoneId.of(FALLBACK_TIMEZONE);
-        try {
-            return ZoneId.of(tz);
-        } catch (Exception e) {
-            return ZoneId.of(FALLBACK_TIMEZONE);
+    private record RelocationModel(Model model, IntVar[] starts, IntVar total) {
+    }
+
+    /**
+     * {@code complete} means the search space was exhausted before the time limit, so {@code starts} is
+     * optimal, or no plan beats the upper bound when {@code starts} is {@code null}.
+     */
+    private record CspSolution(int[] starts, boolean complete) {
+    }
+
+    private record TieredSolution(int[] starts, boolean optimal) {
+    }
+
+    /**
+     * Busy minutes of the user, sorted and merged once, so every domain is built by a single
+     * forward sweep per day.
+     */
+    private record BlockedIntervals(long[] starts, long[] ends) {
+
+        static BlockedIntervals of(List<long[]> intervals) {
+            long[][] sorted = intervals.toArray(long[][]::new);
+            Arrays.sort(sorted, Comparator.comparingLong(b -> b[0]));
+
+            long[] starts = new long[sorted.length];
+            long[] ends = new long[sorted.length];
+            int size = 0;
+            for (long[] b : sorted) {
+                if (size > 0 && b[0] <= ends[size - 1]) {
+                    ends[size - 1] = Math.max(ends[size - 1], b[1]);
+                } else {
+                    starts[size] = b[0];
+                    ends[size] = b[1];
+                    size++;
+                }
+            }
+            return new BlockedIntervals(Arrays.copyOf(starts, size), Arrays.copyOf(ends, size));
+        }
+
+        int size() {
+            return starts.length;
+        }
+
+        long start(int index) {
+            return starts[index];
+        }
+
+        long end(int index) {
+            return ends[index];
+        }
+
+        int firstEndingAfter(long minute) {
+            int index = Arrays.binarySearch(ends, minute);
+            return index >= 0 ? index + 1 : -index - 1;
+        }
+    }
+
+    /**
+     * Growable sorted buffer of slot starts relative to the reference minute.
+     */
+    private static final class SlotBuffer {
+
+        private int[] values = new int[64];
+        private int size;
+
+        void addSlots(long freeStart, long freeEnd, int duration, long epochRefMin) {
+            long aligned = Math.ceilDiv(freeStart, SLOT_MINUTES) * SLOT_MINUTES;
+            while (aligned + duration <= freeEnd) {
+                add((int) (aligned - epochRefMin));
+                aligned += SLOT_MINUTES;
+            }
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+        private void add(int value) {
+            if (size > 0 && values[size - 1] >= value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
         }
     }
 }
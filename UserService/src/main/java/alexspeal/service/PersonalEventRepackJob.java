@@ -0,0 +1,173 @@
+package alexspeal.service;
+
+import alexspeal.config.OptimizerProperties;
+import alexspeal.entities.UserEntity;
+import alexspeal.exceptions.SchedulingConflictException;
+import alexspeal.helpers.BusyRangeConflicts;
+import alexspeal.models.UserRepack;
+import alexspeal.repositories.MeetingRepository;
+import alexspeal.repositories.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically re-packs movable personal events of every user over a rolling horizon. Users are planned
+ * in batches outside of any transaction; the solves run through {@link SolverAdmission}, so they share
+ * the solver-thread budget of requests, and at most {@code repack.concurrency} threads of it are taken
+ * by the job. A user whose solve is rejected under load is skipped until the next run. Improvements of
+ * a batch are committed together.
+ * When the batch fails because some calendar changed while planning, its users are committed one by one
+ * so that only the stale users are skipped.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PersonalEventRepackJob {
+
+    private static final String SOLVE_METRIC = "optimizer.repack.solve";
+    private static final String GAIN_METRIC = "optimizer.repack.gain";
+    private static final String USERS_METRIC = "optimizer.repack.users";
+
+    private final MeetingRepository meetingRepository;
+    private final UserRepository userRepository;
+    private final PersonalEventOptimizer personalEventOptimizer;
+    private final CalendarVersionTracker calendarVersionTracker;
+    private final RepackTxService repackTxService;
+    private final SolverAdmission solverAdmission;
+    private final OptimizerProperties optimizerProperties;
+    private final MeterRegistry meterRegistry;
+
+    @Scheduled(cron = "${app.optimizer.repack.cron:0 30 3 * * *}")
+    public void repack() {
+        OptimizerProperties.Repack settings = optimizerProperties.repack();
+        if (!settings.enabled()) {
+            return;
+        }
+
+        OffsetDateTime from = OffsetDateTime.now(ZoneOffset.UTC);
+        OffsetDateTime to = from.plus(settings.horizon());
+        List<Long> userIds = meetingRepository.findUserIdsWithMovablePersonalEvents(from, to);
+
+        int improved = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(
+                optimizerProperties.concurrentSolves(settings.concurrency()))) {
+            for (int offset = 0; offset < userIds.size(); offset += settings.batchSize()) {
+                List<Long> batch = userIds.subList(offset, Math.min(offset + settings.batchSize(), userIds.size()));
+                improved += repackBatch(executor, batch, from, to);
+            }
+        }
+        log.info("Repacked personal events of {} users out of {}", improved, userIds.size());
+    }
+
+    private int repackBatch(ExecutorService executor, List<Long> userIds, OffsetDateTime from, OffsetDateTime to) {
+        List<Future<PlannedRepack>> futures = new ArrayList<>();
+        for (UserEntity user : userRepository.findAllById(userIds)) {
+            futures.add(executor.submit(() -> plan(user, from, to)));
+        }
+
+        List<PlannedRepack> planned = new ArrayList<>();
+        for (Future<PlannedRepack> future : futures) {
+            try {
+                PlannedRepack result = future.get();
+                if (result != null) {
+                    planned.add(result);
+                }
+            } catch (ExecutionException e) {
+                log.warn("Repack planning failed", e.getCause());
+                record("skipped");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return 0;
+            }
+        }
+
+        List<UserRepack> current = new ArrayList<>();
+        for (PlannedRepack result : planned) {
+            if (calendarVersionTracker.current(result.repack().userId()) == result.calendarVersion()) {
+                current.add(result.repack());
+            } else {
+                record("skipped");
+            }
+        }
+        if (current.isEmpty()) {
+            return 0;
+        }
+
+        if (apply(current)) {
+            current.forEach(this::recordImproved);
+            return current.size();
+        }
+
+        log.warn("Repack batch of {} users is stale, applying users one by one", current.size());
+        int improved = 0;
+        for (UserRepack repack : current) {
+            if (apply(List.of(repack))) {
+                recordImproved(repack);
+                improved++;
+            } else {
+                record("skipped");
+            }
+        }
+        return improved;
+    }
+
+    private boolean apply(List<UserRepack> repacks) {
+        try {
+            repackTxService.apply(repacks);
+            return true;
+        } catch (SchedulingConflictException e) {
+            return false;
+        } catch (DataIntegrityViolationException e) {
+            if (BusyRangeConflicts.isConflict(e)) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    private void recordImproved(UserRepack repack) {
+        record("improved");
+        meterRegistry.summary(GAIN_METRIC).record(repack.displacementGain());
+    }
+
+    private PlannedRepack plan(UserEntity user, OffsetDateTime from, OffsetDateTime to) {
+        long calendarVersion = calendarVersionTracker.current(user.getId());
+        long startedAt = System.nanoTime();
+        UserRepack repack;
+        try {
+            repack = solverAdmission.run(timeLimit -> personalEventOptimizer.planRepack(user, from, to, timeLimit));
+        } catch (RejectedExecutionException e) {
+            record("skipped");
+            return null;
+        }
+        meterRegistry.timer(SOLVE_METRIC).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+
+        if (repack.relocations().isEmpty()) {
+            record("unchanged");
+            return null;
+        }
+        return new PlannedRepack(repack, calendarVersion);
+    }
+
+    private void record(String result) {
+        meterRegistry.counter(USERS_METRIC, "result", result).increment();
+    }
+
+    private record PlannedRepack(UserRepack repack, long calendarVersion) {
+    }
+}
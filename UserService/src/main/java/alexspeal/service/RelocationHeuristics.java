@@ -0,0 +1,174 @@
+package alexspeal.service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Cheap solvers for the relocation problem: every conflicting event takes a start from its sorted
+ * domain, the events must not overlap each other and the total displacement from the original starts
+ * is minimal. Returned starts are indexed like the domains; {@code null} means no placement was found.
+ */
+final class RelocationHeuristics {
+
+    static final int EXACT_MAX_CONFLICTS = 2;
+
+    private static final int NONE = Integer.MIN_VALUE;
+
+    private RelocationHeuristics() {
+    }
+
+    /**
+     * Optimal placement for one or two events. For two events the first one is walked outward from its
+     * original start and the second takes its nearest slot that does not overlap; the walk stops once
+     * the displacement of the first event alone reaches the best total.
+     */
+    static int[] exact(int[][] domains, int[] origStarts, int[] durations) {
+        if (domains.length == 1) {
+            return new int[]{domains[0][nearestIndex(domains[0], origStarts[0])]};
+        }
+
+        int[] best = null;
+        long bestCost = Long.MAX_VALUE;
+        int[] placedStart = new int[1];
+        int[] placedDuration = {0};
+        Outward walk = new Outward(domains[0], origStarts[0]);
+        while (walk.hasNext()) {
+            int first = walk.next();
+            long firstCost = Math.abs((long) first - origStarts[0]);
+            if (firstCost >= bestCost) {
+                break;
+            }
+
+            placedStart[0] = first;
+            placedDuration[0] = durations[0];
+            int second = nearestFree(domains[1], origStarts[1], durations[1], placedStart, placedDuration, 1);
+            if (second == NONE) {
+                continue;
+            }
+
+            long cost = firstCost + Math.abs((long) second - origStarts[1]);
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = new int[]{first, second};
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Places the most constrained events first, each at its nearest slot free of the events placed
+     * before it.
+     */
+    static int[] greedy(int[][] domains, int[] origStarts, int[] durations) {
+        int n = domains.length;
+        Integer[] order = IntStream.range(0, n).boxed().toArray(Integer[]::new);
+        Arrays.sort(order, Comparator.<Integer>comparingInt(i -> domains[i].length)
+                .thenComparingInt(i -> origStarts[i]));
+
+        int[] starts = new int[n];
+        int[] placedStarts = new int[n];
+        int[] placedDurations = new int[n];
+        for (int k = 0; k < n; k++) {
+            int i = order[k];
+            int start = nearestFree(domains[i], origStarts[i], durations[i], placedStarts, placedDurations, k);
+            if (start == NONE) {
+                return null;
+            }
+            starts[i] = start;
+            placedStarts[k] = start;
+            placedDurations[k] = durations[i];
+        }
+        return starts;
+    }
+
+    /**
+     * Sum of the displacements each event would have on its own; no placement can do better.
+     */
+    static long lowerBound(int[][] domains, int[] origStarts) {
+        long bound = 0;
+        for (int i = 0; i < domains.length; i++) {
+            bound += Math.abs((long) domains[i][nearestIndex(domains[i], origStarts[i])] - origStarts[i]);
+        }
+        return bound;
+    }
+
+    static long displacement(int[] starts, int[] origStarts) {
+        long total = 0;
+        for (int i = 0; i < starts.length; i++) {
+            total += Math.abs((long) starts[i] - origStarts[i]);
+        }
+        return total;
+    }
+
+    private static int nearestFree(int[] domain,
+                                   int origStart,
+                                   int duration,
+                                   int[] placedStarts,
+                                   int[] placedDurations,
+                                   int placedCount) {
+        Outward walk = new Outward(domain, origStart);
+        while (walk.hasNext()) {
+            int candidate = walk.next();
+            if (isFree(candidate, duration, placedStarts, placedDurations, placedCount)) {
+                return candidate;
+            }
+        }
+        return NONE;
+    }
+
+    private static boolean isFree(int start, int duration, int[] placedStarts, int[] placedDurations, int placedCount) {
+        for (int k = 0; k < placedCount; k++) {
+            if (start < placedStarts[k] + placedDurations[k] && placedStarts[k] < start + duration) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int nearestIndex(int[] domain, int value) {
+        int index = Arrays.binarySearch(domain, value);
+        if (index >= 0) {
+            return index;
+        }
+        int right = -index - 1;
+        if (right == domain.length) {
+            return right - 1;
+        }
+        if (right == 0) {
+            return 0;
+        }
+        return value - domain[right - 1] <= domain[right] - value ? right - 1 : right;
+    }
+
+    /**
+     * Walks a sorted domain in order of increasing distance from a value.
+     */
+    private static final class Outward {
+
+        private final int[] domain;
+        private final int origin;
+        private int left;
+        private int right;
+
+        Outward(int[] domain, int origin) {
+            this.domain = domain;
+            this.origin = origin;
+            int index = Arrays.binarySearch(domain, origin);
+            this.right = index >= 0 ? index : -index - 1;
+            this.left = right - 1;
+        }
+
+        boolean hasNext() {
+            return left >= 0 || right < domain.length;
+        }
+
+        int next() {
+            if (right >= domain.length
+                    || (left >= 0 && (long) origin - domain[left] <= (long) domain[right] - origin)) {
+                return domain[left--];
+            }
+            return domain[right++];
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package alexspeal.service;
+
+import alexspeal.config.OptimizerProperties;
+import alexspeal.models.CalendarChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Relocation problems per user whose solution was proven optimal; plans cut short by the time limit are
+ * never stored, so a retry under less load gets a new solve. A problem is keyed by its canonical form:
+ * the events sorted by original start, duration and domain, so the same problem hits regardless of the
+ * order the conflicting events were loaded in. Entries are weighed by their total domain length and
+ * entries of users whose calendar changed are dropped after commit.
+ */
+@Component
+public class RelocationMemo {
+
+    private static final String CACHE_NAME = "relocationMemo";
+
+    private final boolean enabled;
+    private final Cache<ProblemKey, int[]> solutions;
+    private final Map<Long, Set<ProblemKey>> keysByUser = new ConcurrentHashMap<>();
+    private long generation;
+
+    public RelocationMemo(OptimizerProperties optimizerProperties, MeterRegistry meterRegistry) {
+        OptimizerProperties.Memo settings = optimizerProperties.memo();
+        this.enabled = settings.enabled();
+        this.solutions = Caffeine.newBuilder()
+                .maximumWeight(settings.maxDomainValues())
+                .weigher((ProblemKey key, int[] starts) -> key.weight())
+                .removalListener(this::onRemoval)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, solutions, CACHE_NAME);
+    }
+
+    public int[] find(Long userId, int[][] domains, int[] origStarts, int[] durations) {
+        if (!enabled) {
+            return null;
+        }
+
+        int[] order = canonicalOrder(domains, origStarts, durations);
+        int[] canonical = solutions.getIfPresent(ProblemKey.of(userId, order, domains, origStarts, durations));
+        if (canonical == null) {
+            return null;
+        }
+
+        int[] starts = new int[order.length];
+        for (int k = 0; k < order.length; k++) {
+            starts[order[k]] = canonical[k];
+        }
+        return starts;
+    }
+
+    public synchronized long currentGeneration() {
+        return generation;
+    }
+
+    public void store(Long userId, int[][] domains, int[] origStarts, int[] durations, int[] starts, long loadGeneration) {
+        if (!enabled) {
+            return;
+        }
+
+        int[] order = canonicalOrder(domains, origStarts, durations);
+        int[] canonical = new int[order.length];
+        for (int k = 0; k < order.length; k++) {
+            canonical[k] = starts[order[k]];
+        }
+
+        ProblemKey key = ProblemKey.of(userId, order, domains, origStarts, durations);
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                keysByUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(key);
+                solutions.put(key, canonical);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCalendarChanged(CalendarChangedEvent event) {
+        synchronized (this) {
+            generation++;
+        }
+
+        for (Long userId : event.userIds()) {
+            Set<ProblemKey> keys = keysByUser.remove(userId);
+            if (keys != null) {
+                solutions.invalidateAll(keys);
+            }
+        }
+    }
+
+    private synchronized void onRemoval(ProblemKey key, int[] starts, RemovalCause cause) {
+        if (key == null || cause == RemovalCause.REPLACED || solutions.asMap().containsKey(key)) {
+            return;
+        }
+
+        keysByUser.computeIfPresent(key.userId(), (id, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private static int[] canonicalOrder(int[][] domains, int[] origStarts, int[] durations) {
+        return IntStream.range(0, domains.length).boxed()
+                .sorted(Comparator.<Integer>comparingInt(i -> origStarts[i])
+                        .thenComparingInt(i -> durations[i])
+                        .thenComparing((a, b) -> Arrays.compare(domains[a], domains[b])))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static final class ProblemKey {
+
+        private final Long userId;
+        private final int[][] domains;
+        private final int[] origStarts;
+        private final int[] durations;
+        private final int hash;
+
+        private ProblemKey(Long userId, int[][] domains, int[] origStarts, int[] durations) {
+            this.userId = userId;
+            this.domains = domains;
+            this.origStarts = origStarts;
+            this.durations = durations;
+            this.hash = Objects.hash(userId, Arrays.deepHashCode(domains),
+                    Arrays.hashCode(origStarts), Arrays.hashCode(durations));
+        }
+
+        static ProblemKey of(Long userId, int[] order, int[][] domains, int[] origStarts, int[] durations) {
+            int n = order.length;
+            int[][] sortedDomains = new int[n][];
+            int[] sortedStarts = new int[n];
+            int[] sortedDurations = new int[n];
+            for (int k = 0; k < n; k++) {
+                sortedDomains[k] = domains[order[k]];
+                sortedStarts[k] = origStarts[order[k]];
+                sortedDurations[k] = durations[order[k]];
+            }
+            return new ProblemKey(userId, sortedDomains, sortedStarts, sortedDurations);
+        }
+
+        Long userId() {
+            return userId;
+        }
+
+        int weight() {
+            int weight = origStarts.length;
+            for (int[] domain : domains) {
+                weight += domain.length;
+            }
+            return weight;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ProblemKey other)) {
+                return false;
+            }
+            return hash == other.hash
+                    && userId.equals(other.userId)
+                    && Arrays.equals(origStarts, other.origStarts)
+                    && Arrays.equals(durations, other.durations)
+                    && Arrays.deepEquals(domains, other.domains);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
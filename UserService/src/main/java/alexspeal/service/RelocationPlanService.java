@@ -0,0 +1,105 @@
+package alexspeal.service;
+
+import alexspeal.config.OptimizerProperties;
+import alexspeal.entities.EventEntity;
+import alexspeal.models.PlannedRelocation;
+import alexspeal.models.RelocationPlan;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Computes relocation plans outside of any transaction. Previewed plans are kept for a short time
+ * together with the calendar version they were computed from, so scheduling can apply them as is
+ * while the author's calendar has not changed.
+ */
+@Service
+public class RelocationPlanService {
+
+    private static final String METRIC_NAME = "optimizer.relocation.plan";
+
+    private final PersonalEventOptimizer personalEventOptimizer;
+    private final CalendarVersionTracker calendarVersionTracker;
+    private final SolverAdmission solverAdmission;
+    private final MeterRegistry meterRegistry;
+    private final OptimizerProperties.Plans settings;
+    private final Cache<UUID, RelocationPlan> plans;
+
+    public RelocationPlanService(PersonalEventOptimizer personalEventOptimizer,
+                                 CalendarVersionTracker calendarVersionTracker,
+                                 SolverAdmission solverAdmission,
+                                 OptimizerProperties optimizerProperties,
+                                 MeterRegistry meterRegistry) {
+        this.personalEventOptimizer = personalEventOptimizer;
+        this.calendarVersionTracker = calendarVersionTracker;
+        this.solverAdmission = solverAdmission;
+        this.meterRegistry = meterRegistry;
+        this.settings = optimizerProperties.plans();
+        this.plans = Caffeine.newBuilder()
+                .maximumSize(settings.maxSize())
+                .expireAfterWrite(settings.ttl())
+                .build();
+    }
+
+    public RelocationPlan preview(EventEntity event, OffsetDateTime startUtc) {
+        RelocationPlan plan = plan(event, startUtc);
+        plans.put(plan.id(), plan);
+        return plan;
+    }
+
+    public RelocationPlan plan(EventEntity event, OffsetDateTime startUtc) {
+        Long userId = event.getAuthor().getId();
+        long calendarVersion = calendarVersionTracker.current(userId);
+
+        List<PlannedRelocation> relocations = List.of();
+        if (Boolean.TRUE.equals(event.getIsPersonal())) {
+            Map<EventEntity, OffsetDateTime> planned = solverAdmission.run(timeLimit -> personalEventOptimizer
+                    .planRelocations(event.getAuthor(), event.getId(), startUtc, event.getDuration(), timeLimit));
+            relocations = planned.entrySet().stream()
+                    .map(entry -> new PlannedRelocation(entry.getKey().getId(), entry.getKey().getTitle(),
+                            entry.getKey().getStartTime(), entry.getValue()))
+                    .toList();
+        }
+
+        OffsetDateTime expiresAt = OffsetDateTime.now(ZoneOffset.UTC).plus(settings.ttl());
+        return new RelocationPlan(UUID.randomUUID(), event.getId(), userId, startUtc, calendarVersion,
+                relocations, expiresAt);
+    }
+
+    /**
+     * Returns the previewed plan if it was made for the same meeting and start and the author's
+     * calendar has not changed since; the plan is consumed either way.
+     */
+    public RelocationPlan take(UUID planId, Long meetingId, OffsetDateTime startUtc) {
+        if (planId == null) {
+            return null;
+        }
+
+        RelocationPlan plan = plans.asMap().remove(planId);
+        if (plan == null || !plan.meetingId().equals(meetingId) || !plan.startTime().isEqual(startUtc)) {
+            record("miss");
+            return null;
+        }
+        if (!isCurrent(plan)) {
+            record("stale");
+            return null;
+        }
+        record("hit");
+        return plan;
+    }
+
+    public boolean isCurrent(RelocationPlan plan) {
+        return calendarVersionTracker.current(plan.userId()) == plan.calendarVersion();
+    }
+
+    private void record(String result) {
+        meterRegistry.counter(METRIC_NAME, "result", result).increment();
+    }
+}
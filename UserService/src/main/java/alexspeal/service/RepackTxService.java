@@ -0,0 +1,39 @@
+package alexspeal.service;
+
+import alexspeal.enums.ErrorMessage;
+import alexspeal.exceptions.SchedulingConflictException;
+import alexspeal.models.CalendarChangedEvent;
+import alexspeal.models.PlannedRelocation;
+import alexspeal.models.UserRepack;
+import alexspeal.repositories.MeetingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class RepackTxService {
+
+    private final MeetingRepository meetingRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void apply(List<UserRepack> repacks) {
+        List<PlannedRelocation> relocations = repacks.stream()
+                .flatMap(repack -> repack.relocations().stream())
+                .toList();
+        if (meetingRepository.moveEventStartTimes(relocations) != relocations.size()) {
+            throw new SchedulingConflictException(ErrorMessage.RELOCATION_PLAN_STALE.getMessage());
+        }
+        meetingRepository.refreshParticipantBusyRanges(relocations.stream().map(PlannedRelocation::eventId).toList());
+
+        Set<Long> userIds = repacks.stream().map(UserRepack::userId).collect(Collectors.toSet());
+        eventPublisher.publishEvent(new CalendarChangedEvent(null, userIds));
+    }
+}
@@ -1,19 +1,26 @@
 package alexspeal.service;
 
+import alexspeal.config.AvailabilityProperties;
+import alexspeal.enums.RequiredIntersectionStrategy;
 import alexspeal.models.ParticipantSchedule;
 import alexspeal.models.TimeInterval;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 
 @Service
+@RequiredArgsConstructor
 public class RequiredWindowService {
 
+    private final AvailabilityProperties availabilityProperties;
+
     public List<TimeInterval> findAllowedWindows(
             LocalDate day,
             List<ParticipantSchedule> requiredSchedules,
@@ -23,6 +30,10 @@ public class RequiredWindowService {
             return List.of();
         }
 
+        if (availabilityProperties.requiredIntersection() == RequiredIntersectionStrategy.K_WAY) {
+            return findAllowedWindowsKWay(day, requiredSchedules, durationMinutes);
+        }
+
         List<TimeInterval> intersection = new ArrayList<>(
                 requiredSchedules.getFirst().availability().getOrDefault(day, List.of())
         );
@@ -44,6 +55,131 @@ public class RequiredWindowService {
                 .toList();
     }
 
+    /**
+     * Intersects all required schedules at once: every participant's intervals are copied into sorted
+     * nano-of-day arrays, one cursor per participant walks them, and a candidate window is abandoned
+     * as soon as the running intersection gets shorter than the meeting.
+     */
+    public List<TimeInterval> findAllowedWindowsKWay(
+            LocalDate day,
+            List<ParticipantSchedule> requiredSchedules,
+            int durationMinutes
+    ) {
+        int participantCount = requiredSchedules.size();
+        long[][] starts = new long[participantCount][];
+        long[][] ends = new long[participantCount][];
+
+        for (int p = 0; p < participantCount; p++) {
+            List<TimeInterval> intervals = requiredSchedules.get(p).availability().getOrDefault(day, List.of());
+            if (intervals.isEmpty()) {
+                return List.of();
+            }
+            if (!isSortedByStart(intervals)) {
+                intervals = intervals.stream()
+                        .sorted(Comparator.comparing(TimeInterval::start))
+                        .toList();
+            }
+
+            starts[p] = new long[intervals.size()];
+            ends[p] = new long[intervals.size()];
+            for (int i = 0; i < intervals.size(); i++) {
+                starts[p][i] = intervals.get(i).start().toNanoOfDay();
+                ends[p][i] = intervals.get(i).end().toNanoOfDay();
+            }
+        }
+
+        long durationNanos = Duration.ofMinutes(durationMinutes).toNanos();
+        int[] cursors = new int[participantCount];
+        List<TimeInterval> result = new ArrayList<>();
+
+        while (true) {
+            long start = Long.MIN_VALUE;
+            long end = Long.MAX_VALUE;
+            int earliestEnding = 0;
+            boolean tooShort = false;
+
+            for (int p = 0; p < participantCount; p++) {
+                start = Math.max(start, starts[p][cursors[p]]);
+                if (ends[p][cursors[p]] < end) {
+                    end = ends[p][cursors[p]];
+                    earliestEnding = p;
+                }
+                if (end - start < durationNanos) {
+                    tooShort = true;
+                    break;
+                }
+            }
+
+            if (!tooShort) {
+                result.add(new TimeInterval(LocalTime.ofNanoOfDay(start), LocalTime.ofNanoOfDay(end)));
+            }
+
+            cursors[earliestEnding]++;
+            if (cursors[earliestEnding] == starts[earliestEnding].length) {
+                return result;
+            }
+        }
+    }
+
+    public int[] findAllowedWindows(List<int[]> requiredTimelines, int durationMinutes) {
+        if (requiredTimelines.isEmpty()) {
+            return new int[0];
+        }
+
+        int[] intersection = requiredTimelines.getFirst();
+        for (int i = 1; i < requiredTimelines.size() && intersection.length > 0; i++) {
+            intersection = intersect(intersection, requiredTimelines.get(i));
+        }
+
+        return filterByLength(intersection, durationMinutes);
+    }
+
+    public int[] filterByLength(int[] timeline, int durationMinutes) {
+        int[] result = new int[timeline.length];
+        int size = 0;
+        for (int i = 0; i < timeline.length; i += 2) {
+            if (timeline[i + 1] - timeline[i] >= durationMinutes) {
+                result[size++] = timeline[i];
+                result[size++] = timeline[i + 1];
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private int[] intersect(int[] left, int[] right) {
+        int[] result = new int[left.length + right.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+
+        while (i < left.length && j < right.length) {
+            int start = Math.max(left[i], right[j]);
+            int end = Math.min(left[i + 1], right[j + 1]);
+
+            if (start < end) {
+                result[size++] = start;
+                result[size++] = end;
+            }
+
+            if (left[i + 1] < right[j + 1]) {
+                i += 2;
+            } else {
+                j += 2;
+            }
+        }
+
+        return Arrays.copyOf(result, size);
+    }
+
+    private boolean isSortedByStart(List<TimeInterval> intervals) {
+        for (int i = 1; i < intervals.size(); i++) {
+            if (intervals.get(i).start().isBefore(intervals.get(i - 1).start())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private List<TimeInterval> intersect(List<TimeInterval> first, List<TimeInterval> second) {
         List<TimeInterval> left = first.stream()
                 .sorted(Comparator.comparing(TimeInterval::start))
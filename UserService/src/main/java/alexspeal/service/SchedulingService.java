@@ -1,84 +1,178 @@
 package alexspeal.service;
 
+import alexspeal.config.AvailabilityProperties;
 import alexspeal.dto.responses.AvailabilityIntervalsResponse;
+import alexspeal.dto.responses.AvailabilityStartRangesResponse;
+import alexspeal.dto.responses.MeetingSuggestionsResponse;
 import alexspeal.entities.EventEntity;
 import alexspeal.entities.EventParticipantEntity;
 import alexspeal.enums.AcceptStatusParticipant;
 import alexspeal.enums.ErrorMessage;
 import alexspeal.helpers.AvailabilityCalculator;
+import alexspeal.helpers.BitsetAvailabilityCalculator;
+import alexspeal.helpers.EpochMinutes;
 import alexspeal.models.AvailabilitySegment;
+import alexspeal.models.DayAvailability;
 import alexspeal.models.Interval;
+import alexspeal.models.MeetingAvailability;
 import alexspeal.models.ParticipantSchedule;
 import alexspeal.models.ParticipantScheduleInfo;
+import alexspeal.models.ParticipantTimeline;
+import alexspeal.models.SlotSuggestion;
+import alexspeal.models.StartRange;
 import alexspeal.models.TimeInterval;
 import alexspeal.repositories.MeetingParticipantRepository;
 import alexspeal.repositories.MeetingRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static java.lang.Boolean.TRUE;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class SchedulingService {
 
+    private static final int MAX_SUGGESTIONS = 100;
+
     private final MeetingRepository meetingRepository;
         private final MeetingParticipantRepository participantRepository;
         private final ParticipantScheduleService scheduleService;
         private final RequiredWindowService requiredWindowService;
         private final AvailabilityCalculator availabilityCalculator;
+        private final BitsetAvailabilityCalculator bitsetAvailabilityCalculator;
         private final IntervalService intervalService;
+        private final AvailabilityProperties availabilityProperties;
+        private final AvailabilityCache availabilityCache;
+        private final MeetingCoverageService meetingCoverageService;
+        private final ForkJoinPool availabilityDayPool;
 
-        public AvailabilityIntervalsResponse getMeetingAvailability(Long meetingId) {
-            EventEntity meeting = meetingRepository.findById(meetingId)
-                    .orElseThrow(() -> new NoSuchElementException(ErrorMessage.MEETING_NOT_FOUND.getMessage()));
+    public AvailabilityIntervalsResponse getMeetingAvailability(Long meetingId) {
+        MeetingAvailability availability = availabilityCache.get(meetingId, this::loadAvailability);
 
-            int duration = meeting.getDuration();
+        List<Interval> resultIntervals = new ArrayList<>();
+        for (DayAvailability day : availability.days()) {
+            resultIntervals.addAll(intervalService.toMeetingIntervals(
+                    day.utcDate(), bestSegments(day), availability.durationMinutes()));
+        }
 
-            boolean hasPending = meeting.getEventParticipants().stream()
-                    .anyMatch(participant -> participant.getStatus() == AcceptStatusParticipant.PENDING);
+        return new AvailabilityIntervalsResponse(
+                meetingId,
+                resultIntervals,
+                availability.maxCount(),
+                availability.hasPending()
+        );
+    }
 
-            Long authorId = meeting.getAuthor().getId();
+    public AvailabilityStartRangesResponse getMeetingStartRanges(Long meetingId) {
+        MeetingAvailability availability = availabilityCache.get(meetingId, this::loadAvailability);
 
-        EventParticipantEntity author = participantRepository
-                .findByEventIdAndUserId(meetingId, authorId)
-                .orElseThrow(() -> new IllegalStateException(ErrorMessage.NOT_FOUND_AUTHOR.getMessage()));
+        List<StartRange> startRanges = new ArrayList<>();
+        for (DayAvailability day : availability.days()) {
+            startRanges.addAll(intervalService.toStartRanges(
+                    day.utcDate(), bestSegments(day), availability.durationMinutes()));
+        }
 
-        boolean personalWithRange = TRUE.equals(meeting.getIsPersonal())
-                && meeting.getPreferredWindowStart() != null
-                && meeting.getPreferredWindowEnd() != null;
-        LocalTime rangeStart = personalWithRange ? meeting.getPreferredWindowStart() : null;
-        LocalTime rangeEnd = personalWithRange ? meeting.getPreferredWindowEnd() : null;
+        return new AvailabilityStartRangesResponse(
+                meetingId,
+                availability.durationMinutes(),
+                startRanges,
+                availability.maxCount(),
+                availability.hasPending()
+        );
+    }
+
+    public MeetingSuggestionsResponse getMeetingSuggestions(Long meetingId, int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException(ErrorMessage.INVALID_SUGGESTIONS_LIMIT.getMessage(MAX_SUGGESTIONS));
+        }
+
+        MeetingAvailability availability = availabilityCache.get(meetingId, this::loadAvailability);
+
+        List<SlotSuggestion> suggestions = intervalService.topSuggestions(
+                availability.days(),
+                availability.durationMinutes(),
+                availability.requiredParticipantCount(),
+                limit
+        );
+
+        return new MeetingSuggestionsResponse(
+                meetingId,
+                availability.durationMinutes(),
+                suggestions,
+                availability.maxCount(),
+                availability.hasPending()
+        );
+    }
+
+    public MeetingAvailability computeAvailability(Long meetingId) {
+        MeetingContext context = loadMeetingContext(meetingId);
+        EventEntity meeting = context.meeting();
+        int duration = meeting.getDuration();
+        Long authorId = meeting.getAuthor().getId();
 
-        ParticipantSchedule authorSchedule = scheduleService.build(
-                author, duration, rangeStart, rangeEnd, personalWithRange);
+        boolean hasPending = meeting.getEventParticipants().stream()
+                .anyMatch(participant -> participant.getStatus() == AcceptStatusParticipant.PENDING);
 
         List<EventParticipantEntity> meetingParticipants = meeting.getEventParticipants();
 
         if (hasNotAcceptedRequiredParticipant(meetingParticipants)) {
-            return new AvailabilityIntervalsResponse(
-                    meetingId,
-                    List.of(),
-                    0,
-                    hasPending
-            );
+            return new MeetingAvailability(meetingId, duration, List.of(), 0, hasPending, 0, Set.of());
         }
 
-        List<EventParticipantEntity> acceptedParticipants = loadAcceptedParticipants(meetingParticipants, author);
+        List<EventParticipantEntity> acceptedParticipants = loadAcceptedParticipants(meetingParticipants, context.author());
 
-        List<ParticipantScheduleInfo> schedulesInfo = acceptedParticipants.stream()
-                .map(participant -> new ParticipantScheduleInfo(
-                        scheduleService.build(participant, duration, rangeStart, rangeEnd, personalWithRange),
-                        participant.isRequired()
-                ))
-                .toList();
+        List<DayAvailability> days = switch (availabilityProperties.engine()) {
+            case SWEEP, BITSET -> computeScheduleDays(context, acceptedParticipants, authorId, duration);
+            case TIMELINE -> computeTimelineDays(context, acceptedParticipants, authorId, duration);
+        };
+
+        int globalMaxParticipants = days.stream()
+                .mapToInt(DayAvailability::maxCount)
+                .max()
+                .orElse(0);
+
+        Set<Long> participantUserIds = acceptedParticipants.stream()
+                .map(participant -> participant.getUser().getId())
+                .collect(Collectors.toSet());
+
+        int requiredCount = (int) acceptedParticipants.stream()
+                .filter(EventParticipantEntity::isRequired)
+                .count();
+
+        return new MeetingAvailability(meetingId, duration, days, globalMaxParticipants, hasPending,
+                requiredCount, participantUserIds);
+    }
+
+    private List<DayAvailability> computeScheduleDays(
+            MeetingContext context,
+            List<EventParticipantEntity> acceptedParticipants,
+            Long authorId,
+            int duration
+    ) {
+        List<ParticipantSchedule> builtSchedules = scheduleService.buildAll(
+                acceptedParticipants, duration, context.rangeStart(), context.rangeEnd(), context.personalWithRange());
+
+        List<ParticipantScheduleInfo> schedulesInfo = new ArrayList<>(acceptedParticipants.size());
+        for (int i = 0; i < acceptedParticipants.size(); i++) {
+            schedulesInfo.add(new ParticipantScheduleInfo(builtSchedules.get(i), acceptedParticipants.get(i).isRequired()));
+        }
+
+        ParticipantSchedule authorSchedule = builtSchedules.get(indexOfUser(acceptedParticipants, authorId));
 
         List<ParticipantSchedule> allSchedules = schedulesInfo.stream()
                 .map(ParticipantScheduleInfo::schedule)
@@ -89,55 +183,186 @@ public class SchedulingService {
                 .map(ParticipantScheduleInfo::schedule)
                 .toList();
 
-        Set<LocalDate> utcDates = authorSchedule.availability().keySet();
+        List<LocalDate> utcDates = authorSchedule.availability().keySet().stream()
+                .sorted()
+                .toList();
 
-        List<Interval> resultIntervals = new ArrayList<>();
-        int globalMaxParticipants = 0;
-
-        for (LocalDate date : utcDates) {
-            List<TimeInterval> allowedWindows = resolveAllowedWindows(
-                    date,
-                    requiredSchedules,
-                    authorSchedule,
-                    duration
-            );
-
-            if (allowedWindows.isEmpty()) {
-                continue;
+        return computeDays(utcDates, date ->
+                computeDay(date, requiredSchedules, authorSchedule, allSchedules, duration));
+    }
+
+    private List<DayAvailability> computeTimelineDays(
+            MeetingContext context,
+            List<EventParticipantEntity> acceptedParticipants,
+            Long authorId,
+            int duration
+    ) {
+        List<ParticipantTimeline> timelines = scheduleService.buildAllTimelines(
+                acceptedParticipants, duration, context.rangeStart(), context.rangeEnd(), context.personalWithRange());
+
+        List<int[]> allTimelines = new ArrayList<>(timelines.size());
+        List<int[]> requiredTimelines = new ArrayList<>();
+        for (int i = 0; i < timelines.size(); i++) {
+            int[] free = timelines.get(i).free();
+            allTimelines.add(free);
+            if (acceptedParticipants.get(i).isRequired()) {
+                requiredTimelines.add(free);
             }
+        }
 
-            List<AvailabilitySegment> segments = availabilityCalculator.calculateSegments(
-                    date,
-                    allSchedules,
-                    allowedWindows
-            );
+        int[] authorFree = allTimelines.get(indexOfUser(acceptedParticipants, authorId));
+        int[] allowedWindows = requiredTimelines.isEmpty()
+                ? requiredWindowService.filterByLength(authorFree, duration)
+                : requiredWindowService.findAllowedWindows(requiredTimelines, duration);
 
-            List<AvailabilitySegment> validSegments = segments.stream()
-                    .filter(segment -> isLongEnough(segment.start(), segment.end(), duration))
-                    .toList();
+        int[] segments = availabilityCalculator.calculateSegments(allTimelines, allowedWindows);
+        return intervalService.toDayAvailabilities(segments, duration, utcDatesOf(authorFree));
+    }
+
+    private Set<LocalDate> utcDatesOf(int[] timeline) {
+        Set<LocalDate> dates = new HashSet<>();
+        for (int i = 0; i < timeline.length; i += 2) {
+            LocalDate last = EpochMinutes.utcDate(timeline[i + 1] - 1);
+            for (LocalDate date = EpochMinutes.utcDate(timeline[i]); !date.isAfter(last); date = date.plusDays(1)) {
+                dates.add(date);
+            }
+        }
+        return dates;
+    }
 
-            int dayMaxParticipants = validSegments.stream()
-                    .mapToInt(AvailabilitySegment::participantCount)
-                    .max()
-                    .orElse(0);
+    private MeetingAvailability loadAvailability(Long meetingId) {
+        AvailabilityProperties.Incremental incremental = availabilityProperties.incremental();
+        if (!incremental.enabled()) {
+            return computeAvailability(meetingId);
+        }
 
-            globalMaxParticipants = Math.max(globalMaxParticipants, dayMaxParticipants);
+        MeetingAvailability availability = meetingCoverageService.find(meetingId);
+        if (availability == null) {
+            long loadGeneration = meetingCoverageService.currentGeneration();
+            MeetingCoverage coverage = buildCoverage(meetingId);
+            meetingCoverageService.store(coverage, loadGeneration);
+            meetingCoverageService.record("rebuild");
+            return coverage.toAvailability();
+        }
 
-            List<AvailabilitySegment> bestSegments = validSegments.stream()
-                    .filter(segment -> segment.participantCount() == dayMaxParticipants)
+        if (incremental.verify()) {
+            MeetingAvailability rebuilt = computeAvailability(meetingId);
+            if (!rebuilt.equals(availability)) {
+                log.warn("Incremental availability of meeting {} diverged from full rebuild", meetingId);
+                meetingCoverageService.evict(meetingId);
+                meetingCoverageService.record("mismatch");
+                return rebuilt;
+            }
+        }
+
+        return availability;
+    }
+
+    private MeetingCoverage buildCoverage(Long meetingId) {
+        MeetingContext context = loadMeetingContext(meetingId);
+        EventEntity meeting = context.meeting();
+        int duration = meeting.getDuration();
+        Long authorId = meeting.getAuthor().getId();
+
+        List<EventParticipantEntity> meetingParticipants = meeting.getEventParticipants();
+        List<EventParticipantEntity> acceptedParticipants = loadAcceptedParticipants(meetingParticipants, context.author());
+
+        List<ParticipantSchedule> builtSchedules = scheduleService.buildAll(
+                acceptedParticipants, duration, context.rangeStart(), context.rangeEnd(), context.personalWithRange());
+
+        MeetingCoverage coverage = new MeetingCoverage(meetingId, duration, authorId,
+                context.rangeStart(), context.rangeEnd(), context.personalWithRange(),
+                builtSchedules.get(indexOfUser(acceptedParticipants, authorId)));
+
+        for (EventParticipantEntity participant : meetingParticipants) {
+            coverage.apply(participant.getUser().getId(), participant.getStatus(), participant.isRequired(), null);
+        }
+        for (int i = 0; i < acceptedParticipants.size(); i++) {
+            EventParticipantEntity participant = acceptedParticipants.get(i);
+            coverage.apply(participant.getUser().getId(), participant.getStatus(), participant.isRequired(),
+                    builtSchedules.get(i));
+        }
+
+        return coverage;
+    }
+
+    private MeetingContext loadMeetingContext(Long meetingId) {
+        EventEntity meeting = meetingRepository.findById(meetingId)
+                .orElseThrow(() -> new NoSuchElementException(ErrorMessage.MEETING_NOT_FOUND.getMessage()));
+
+        EventParticipantEntity author = participantRepository
+                .findByEventIdAndUserId(meetingId, meeting.getAuthor().getId())
+                .orElseThrow(() -> new IllegalStateException(ErrorMessage.NOT_FOUND_AUTHOR.getMessage()));
+
+        boolean personalWithRange = TRUE.equals(meeting.getIsPersonal())
+                && meeting.getPreferredWindowStart() != null
+                && meeting.getPreferredWindowEnd() != null;
+        LocalTime rangeStart = personalWithRange ? meeting.getPreferredWindowStart() : null;
+        LocalTime rangeEnd = personalWithRange ? meeting.getPreferredWindowEnd() : null;
+
+        return new MeetingContext(meeting, author, rangeStart, rangeEnd, personalWithRange);
+    }
+
+    private List<DayAvailability> computeDays(List<LocalDate> utcDates,
+                                              Function<LocalDate, DayAvailability> dayCalculator) {
+        if (!availabilityProperties.parallel().enabled() || utcDates.size() < 2) {
+            return utcDates.stream()
+                    .map(dayCalculator)
+                    .filter(Objects::nonNull)
                     .toList();
+        }
+
+        return availabilityDayPool.submit(() -> utcDates.parallelStream()
+                        .map(dayCalculator)
+                        .filter(Objects::nonNull)
+                        .toList())
+                .join();
+    }
 
-            resultIntervals.addAll(
-                    intervalService.toMeetingIntervals(date, bestSegments, duration)
-            );
+    private DayAvailability computeDay(
+            LocalDate date,
+            List<ParticipantSchedule> requiredSchedules,
+            ParticipantSchedule authorSchedule,
+            List<ParticipantSchedule> allSchedules,
+            int duration
+    ) {
+        List<TimeInterval> allowedWindows = resolveAllowedWindows(
+                date,
+                requiredSchedules,
+                authorSchedule,
+                duration
+        );
+
+        if (allowedWindows.isEmpty()) {
+            return null;
         }
 
-        return new AvailabilityIntervalsResponse(
-                meetingId,
-                resultIntervals,
-                globalMaxParticipants,
-                hasPending
+        List<AvailabilitySegment> segments = calculateSegments(
+                date,
+                allSchedules,
+                allowedWindows
         );
+
+        List<AvailabilitySegment> validSegments = segments.stream()
+                .filter(segment -> isLongEnough(segment.start(), segment.end(), duration))
+                .toList();
+
+        if (validSegments.isEmpty()) {
+            return null;
+        }
+
+        int dayMaxParticipants = validSegments.stream()
+                .mapToInt(AvailabilitySegment::participantCount)
+                .max()
+                .orElse(0);
+
+        return new DayAvailability(date, validSegments, dayMaxParticipants);
+    }
+
+    private List<AvailabilitySegment> bestSegments(DayAvailability day) {
+        return day.segments().stream()
+                .filter(segment -> segment.participantCount() == day.maxCount())
+                .toList();
     }
 
     private boolean hasNotAcceptedRequiredParticipant(List<EventParticipantEntity> participants) {
@@ -166,6 +391,15 @@ public class SchedulingService {
         return participants;
     }
 
+    private int indexOfUser(List<EventParticipantEntity> participants, Long userId) {
+        for (int i = 0; i < participants.size(); i++) {
+            if (participants.get(i).getUser().getId().equals(userId)) {
+                return i;
+            }
+        }
+        throw new IllegalStateException(ErrorMessage.NOT_FOUND_AUTHOR.getMessage());
+    }
+
     private List<TimeInterval> resolveAllowedWindows(
             LocalDate day,
             List<ParticipantSchedule> requiredSchedules,
@@ -181,7 +415,28 @@ public class SchedulingService {
                 .toList();
     }
 
+    private List<AvailabilitySegment> calculateSegments(
+            LocalDate day,
+            List<ParticipantSchedule> schedules,
+            List<TimeInterval> allowedWindows
+    ) {
+        return switch (availabilityProperties.engine()) {
+            case SWEEP -> availabilityCalculator.calculateSegments(day, schedules, allowedWindows);
+            case BITSET -> bitsetAvailabilityCalculator.calculateSegments(day, schedules, allowedWindows);
+            case TIMELINE -> throw new IllegalStateException("TIMELINE engine computes the whole range at once");
+        };
+    }
+
     private boolean isLongEnough(LocalTime start, LocalTime end, int durationMinutes) {
-        return !end.minusMinutes(durationMinutes).isBefore(start);
+        return Duration.between(start, end).toMinutes() >= durationMinutes;
+    }
+
+    private record MeetingContext(
+            EventEntity meeting,
+            EventParticipantEntity author,
+            LocalTime rangeStart,
+            LocalTime rangeEnd,
+            boolean personalWithRange
+    ) {
     }
-}
\ No newline at end of file
+}
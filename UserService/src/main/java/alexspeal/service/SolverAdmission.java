@@ -0,0 +1,90 @@
+package alexspeal.service;
+
+import alexspeal.config.OptimizerProperties;
+import alexspeal.enums.ErrorMessage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bulkhead for relocation planning: solver work runs on a dedicated bounded pool, callers are rejected
+ * with {@link RejectedExecutionException} once its queue is full, and the solver time limit of a task
+ * is cut by the time it spent waiting in the queue so every request finishes within its deadline.
+ */
+@Component
+public class SolverAdmission {
+
+    private static final String QUEUE_METRIC = "optimizer.admission.queue";
+    private static final String WAIT_METRIC = "optimizer.admission.wait";
+    private static final String REJECTED_METRIC = "optimizer.admission.rejected";
+
+    private final ThreadPoolExecutor executor;
+    private final OptimizerProperties optimizerProperties;
+    private final MeterRegistry meterRegistry;
+    private final Timer waitTimer;
+
+    public SolverAdmission(ThreadPoolExecutor relocationSolverExecutor,
+                           OptimizerProperties optimizerProperties,
+                           MeterRegistry meterRegistry) {
+        this.executor = relocationSolverExecutor;
+        this.optimizerProperties = optimizerProperties;
+        this.meterRegistry = meterRegistry;
+        this.waitTimer = meterRegistry.timer(WAIT_METRIC);
+        meterRegistry.gauge(QUEUE_METRIC, relocationSolverExecutor, pool -> pool.getQueue().size());
+    }
+
+    public <T> T run(Function<Duration, T> task) {
+        OptimizerProperties.Admission admission = optimizerProperties.admission();
+        long enqueuedAt = System.nanoTime();
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long waited = System.nanoTime() - enqueuedAt;
+                waitTimer.record(waited, TimeUnit.NANOSECONDS);
+
+                Duration budget = admission.deadline().minusNanos(waited);
+                if (budget.isNegative() || budget.isZero()) {
+                    throw reject();
+                }
+                if (budget.compareTo(optimizerProperties.solverTimeLimit()) > 0) {
+                    budget = optimizerProperties.solverTimeLimit();
+                }
+                return task.apply(budget);
+            });
+        } catch (RejectedExecutionException e) {
+            throw reject();
+        }
+
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw reject();
+        }
+    }
+
+    public Duration retryAfter() {
+        return optimizerProperties.admission().retryAfter();
+    }
+
+    private RejectedExecutionException reject() {
+        meterRegistry.counter(REJECTED_METRIC).increment();
+        return new RejectedExecutionException(
+                ErrorMessage.RELOCATION_OVERLOADED.getMessage(retryAfter().toSeconds()));
+    }
+}
@@ -5,9 +5,11 @@ import alexspeal.dto.UserDto;
 import alexspeal.entities.UserEntity;
 import alexspeal.enums.ErrorMessage;
 import alexspeal.mappers.UserMapper;
+import alexspeal.models.CalendarChangedEvent;
 import alexspeal.repositories.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -18,12 +20,14 @@ import org.springframework.stereotype.Service;
 import java.util.ArrayList;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class UserService implements UserDetailsService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Optional<UserEntity> findUserEntityByUsername(String username) {
         return userRepository.findByUsername(username);
@@ -72,6 +76,7 @@ public class UserService implements UserDetailsService {
                 .orElseThrow(() -> new NoSuchElementException(ErrorMessage.USER_NOT_FOUND_BY_USERNAME.getMessage()));
         user.setDailyLoadMinutes(dailyLoadMinutes);
         userRepository.save(user);
+        eventPublisher.publishEvent(new CalendarChangedEvent(null, Set.of(user.getId())));
     }
 
 }
@@ -0,0 +1,120 @@
+package alexspeal.utils;
+
+import alexspeal.repositories.MeetingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Plan regression check for the indexes of V6__AddHotQueryIndexes and V8__AddEventBusyRange. Migrates
+ * and seeds the empty throwaway database of application-explain-check.yml, calls the hot
+ * {@link MeetingRepository} methods, captures the SQL Hibernate generates for them and fails if the
+ * generic plan of any statement reads events or event_participants with a sequential scan. The application exits once the check is done;
+ * a failure ends startup with a non-zero status.
+ *
+ * <pre>
+ *   docker compose --profile checks up -d explain-postgres
+ *   SECRET=check VK_BOT_TOKEN=check ./mvnw -pl UserService spring-boot:run -Dspring-boot.run.profiles=explain-check
+ * </pre>
+ */
+@Slf4j
+@Component
+@Profile("explain-check")
+@RequiredArgsConstructor
+public class HotQueryPlanCheck implements ApplicationRunner {
+
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (events|event_participants)\\b");
+
+    private final MeetingRepository meetingRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Long existing = jdbcTemplate.queryForObject("SELECT count(*) FROM events", Long.class);
+        if (existing == null || existing > 0) {
+            throw new IllegalStateException("explain-check needs an empty database, events has " + existing + " rows");
+        }
+        new ResourceDatabasePopulator(new ClassPathResource("explain-check/seed.sql")).execute(dataSource);
+
+        Long userId = seededUserId(42);
+        List<Long> userIds = List.of(seededUserId(100), seededUserId(101), seededUserId(102),
+                seededUserId(103), seededUserId(104));
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("getBusyIntervals",
+                () -> meetingRepository.getBusyIntervals(userId, now, now.plusDays(7)));
+        queries.put("getBusyIntervalsForUsers",
+                () -> meetingRepository.getBusyIntervalsForUsers(userIds, now, now.plusDays(7)));
+        queries.put("findUserMovablePersonalEvents",
+                () -> meetingRepository.findUserMovablePersonalEvents(userId, now, now.plusDays(14)));
+        queries.put("findMeetingsStartingBetween",
+                () -> meetingRepository.findMeetingsStartingBetween(now, now.plusHours(1)));
+        queries.put("findUserMovablePersonalEventsOverlapping",
+                () -> meetingRepository.findUserMovablePersonalEventsOverlapping(userId, now, now.plusHours(1)));
+        queries.put("findUserIdsBusyBetween",
+                () -> meetingRepository.findUserIdsBusyBetween(userIds, 0L, now, now.plusHours(1)));
+
+        List<String> failures = new ArrayList<>();
+        queries.forEach((name, query) -> {
+            for (String sql : CapturedStatements.capture(query)) {
+                String plan = String.join("\n",
+                        jdbcTemplate.queryForList("EXPLAIN (GENERIC_PLAN) " + toPositional(sql), String.class));
+                if (SEQ_SCAN.matcher(plan).find()) {
+                    failures.add("sequential scan in " + name + ":\n" + sql + "\n" + plan);
+                } else {
+                    log.info("ok: {}", name);
+                }
+            }
+        });
+
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException(String.join("\n\n", failures));
+        }
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    private Long seededUserId(int n) {
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = ?", Long.class,
+                "explain_user_" + n);
+    }
+
+    /**
+     * JDBC placeholders become {@code $n} parameters, which EXPLAIN (GENERIC_PLAN) plans without values.
+     */
+    private static String toPositional(String sql) {
+        StringBuilder result = new StringBuilder(sql.length());
+        boolean quoted = false;
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c == '?' && !quoted) {
+                result.append('$').append(++parameter);
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,41 @@
+-- Dataset for HotQueryPlanCheck: 2000 users, 100k events and about 300k participations, so that the
+-- planner prefers an index wherever one applies. Runs only against the throwaway explain-check database.
+
+INSERT INTO users (username, password, timezone)
+SELECT 'explain_user_' || g, 'x', 'UTC'
+FROM generate_series(1, 2000) AS g;
+
+CREATE TEMP TABLE seeded_users AS
+SELECT id, row_number() OVER (ORDER BY id) AS n
+FROM users
+WHERE username LIKE 'explain_user_%';
+
+INSERT INTO events (title, description, status, start_time, duration, author_id, created_at,
+                    is_personal, is_fixed)
+SELECT 'event ' || g,
+       NULL,
+       CASE WHEN g % 2 = 0 THEN 'ACCEPTED' ELSE 'PENDING' END,
+       CASE WHEN g % 10 = 0 THEN NULL
+            ELSE now() - INTERVAL '180 days' + (g % 525600) * INTERVAL '1 minute' END,
+       30 + (g % 4) * 15,
+       (SELECT id FROM seeded_users WHERE n = 1 + g % 2000),
+       now(),
+       g % 3 = 0,
+       g % 6 <> 0
+FROM generate_series(1, 100000) AS g;
+
+INSERT INTO event_participants (event_id, user_id, status, required, selected_days)
+SELECT e.id,
+       u.id,
+       CASE (e.id + k) % 4 WHEN 0 THEN 'PENDING' WHEN 1 THEN 'DECLINED' ELSE 'ACCEPTED' END,
+       k = 0,
+       ARRAY [current_date, current_date + 1]
+FROM events e
+         CROSS JOIN generate_series(0, 2) AS k
+         JOIN seeded_users u ON u.n = 1 + (e.id * 7 + k * 331) % 2000
+WHERE e.title LIKE 'event %'
+ON CONFLICT ON CONSTRAINT unique_participation DO NOTHING;
+
+ANALYZE users;
+ANALYZE events;
+ANALYZE event_participants;
@@ -0,0 +1,11 @@
+ALTER TABLE vk_meeting_notification
+    DROP CONSTRAINT fk_vk_notification_event,
+    ADD CONSTRAINT fk_vk_notification_event FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE;
+
+ALTER TABLE vk_meeting_notification
+    DROP CONSTRAINT fk_vk_notification_user,
+    ADD CONSTRAINT fk_vk_notification_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE;
+
+ALTER TABLE vk_binding_attempt
+    DROP CONSTRAINT fk_vk_binding_attempt_user,
+    ADD CONSTRAINT fk_vk_binding_attempt_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE;
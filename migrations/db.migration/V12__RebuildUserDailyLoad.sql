@@ -0,0 +1,25 @@
+-- Rows refreshed by the application for offset time zones such as 'UTC+03:00' were filed under
+-- POSIX-signed local days. The application now resolves only region IDs and falls back to UTC like V5,
+-- so every row is recomputed with the V5 rules.
+DELETE FROM user_daily_load;
+
+INSERT INTO user_daily_load (user_id, local_date, load_minutes)
+SELECT busy.user_id,
+       day_series.day_start::date,
+       SUM(FLOOR(EXTRACT(EPOCH FROM
+           LEAST(busy.end_time, (day_series.day_start::date + 1)::timestamp AT TIME ZONE busy.zone)
+               - GREATEST(busy.start_time, day_series.day_start::date::timestamp AT TIME ZONE busy.zone)) / 60))::int
+FROM (SELECT ep.user_id,
+             e.start_time,
+             e.start_time + e.duration * INTERVAL '1 minute' AS end_time,
+             CASE WHEN u.timezone IN (SELECT name FROM pg_timezone_names) THEN u.timezone ELSE 'UTC' END AS zone
+      FROM events e
+               JOIN event_participants ep ON ep.event_id = e.id
+               JOIN users u ON u.id = ep.user_id
+      WHERE ep.status = 'ACCEPTED'
+        AND e.start_time IS NOT NULL) busy
+         CROSS JOIN LATERAL generate_series(
+        (busy.start_time AT TIME ZONE busy.zone)::date,
+        ((busy.end_time - INTERVAL '1 microsecond') AT TIME ZONE busy.zone)::date,
+        INTERVAL '1 day') AS day_series(day_start)
+GROUP BY busy.user_id, day_series.day_start::date;
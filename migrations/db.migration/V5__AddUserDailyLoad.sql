@@ -0,0 +1,28 @@
+CREATE TABLE user_daily_load (
+                                 user_id BIGINT NOT NULL,
+                                 local_date DATE NOT NULL,
+                                 load_minutes INT NOT NULL,
+                                 CONSTRAINT pk_user_daily_load PRIMARY KEY (user_id, local_date),
+                                 CONSTRAINT fk_user_daily_load_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+INSERT INTO user_daily_load (user_id, local_date, load_minutes)
+SELECT busy.user_id,
+       day_series.day_start::date,
+       SUM(FLOOR(EXTRACT(EPOCH FROM
+           LEAST(busy.end_time, (day_series.day_start::date + 1)::timestamp AT TIME ZONE busy.zone)
+               - GREATEST(busy.start_time, day_series.day_start::date::timestamp AT TIME ZONE busy.zone)) / 60))::int
+FROM (SELECT ep.user_id,
+             e.start_time,
+             e.start_time + e.duration * INTERVAL '1 minute' AS end_time,
+             CASE WHEN u.timezone IN (SELECT name FROM pg_timezone_names) THEN u.timezone ELSE 'UTC' END AS zone
+      FROM events e
+               JOIN event_participants ep ON ep.event_id = e.id
+               JOIN users u ON u.id = ep.user_id
+      WHERE ep.status = 'ACCEPTED'
+        AND e.start_time IS NOT NULL) busy
+         CROSS JOIN LATERAL generate_series(
+        (busy.start_time AT TIME ZONE busy.zone)::date,
+        ((busy.end_time - INTERVAL '1 microsecond') AT TIME ZONE busy.zone)::date,
+        INTERVAL '1 day') AS day_series(day_start)
+GROUP BY busy.user_id, day_series.day_start::date;
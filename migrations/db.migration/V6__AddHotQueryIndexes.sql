@@ -0,0 +1,20 @@
+CREATE INDEX IF NOT EXISTS ix_event_participants_user_status
+    ON event_participants (user_id, status) INCLUDE (event_id);
+
+CREATE INDEX IF NOT EXISTS ix_event_participants_accepted_event
+    ON event_participants (event_id) INCLUDE (user_id)
+    WHERE status = 'ACCEPTED';
+
+CREATE INDEX IF NOT EXISTS ix_events_scheduled_start_time
+    ON events (start_time) INCLUDE (id, duration, is_fixed, is_personal)
+    WHERE start_time IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS ix_events_status_start_time
+    ON events (status, start_time);
+
+CREATE INDEX IF NOT EXISTS ix_events_movable_personal_start_time
+    ON events (start_time)
+    WHERE is_personal = TRUE AND is_fixed = FALSE;
+
+CREATE INDEX IF NOT EXISTS ix_days_event_participant_id
+    ON days (event_participant_id) INCLUDE (date);
@@ -0,0 +1,10 @@
+ALTER TABLE event_participants ADD COLUMN IF NOT EXISTS selected_days DATE[] NOT NULL DEFAULT '{}';
+
+UPDATE event_participants ep
+SET selected_days = d.dates
+FROM (SELECT event_participant_id, array_agg(date ORDER BY id) AS dates
+      FROM days
+      GROUP BY event_participant_id) d
+WHERE ep.id = d.event_participant_id;
+
+DROP TABLE days;
@@ -0,0 +1,19 @@
+-- timestamptz + interval is only STABLE, which a generated column does not accept. Adding whole
+-- minutes does not depend on the session time zone, so the wrapper is declared IMMUTABLE.
+CREATE OR REPLACE FUNCTION event_busy_range(start_time TIMESTAMPTZ, duration INTEGER)
+    RETURNS TSTZRANGE
+    LANGUAGE sql
+    IMMUTABLE
+    STRICT
+    PARALLEL SAFE
+AS
+$$
+SELECT tstzrange(start_time, start_time + make_interval(mins => duration), '[)')
+$$;
+
+ALTER TABLE events
+    ADD COLUMN IF NOT EXISTS busy_range TSTZRANGE
+        GENERATED ALWAYS AS (event_busy_range(start_time, duration)) STORED;
+
+CREATE INDEX IF NOT EXISTS ix_events_busy_range
+    ON events USING gist (busy_range);
@@ -0,0 +1,24 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+CREATE TABLE participant_busy_ranges (
+                                         user_id BIGINT NOT NULL,
+                                         event_id BIGINT NOT NULL,
+                                         busy_range TSTZRANGE NOT NULL,
+                                         CONSTRAINT pk_participant_busy_ranges PRIMARY KEY (user_id, event_id),
+                                         CONSTRAINT fk_participant_busy_ranges_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+                                         CONSTRAINT fk_participant_busy_ranges_event FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE,
+                                         CONSTRAINT ex_participant_busy_ranges_overlap EXCLUDE USING gist (user_id WITH =, busy_range WITH &&)
+);
+
+CREATE INDEX ix_participant_busy_ranges_event
+    ON participant_busy_ranges (event_id);
+
+-- Calendars that already contain double bookings keep the earliest scheduled event of each overlap.
+INSERT INTO participant_busy_ranges (user_id, event_id, busy_range)
+SELECT ep.user_id, e.id, e.busy_range
+FROM events e
+         JOIN event_participants ep ON ep.event_id = e.id
+WHERE ep.status = 'ACCEPTED'
+  AND e.busy_range IS NOT NULL
+ORDER BY e.start_time, e.id
+ON CONFLICT DO NOTHING;